@@ -0,0 +1,50 @@
+$ErrorActionPreference = 'Stop'
+Set-StrictMode -Version Latest
+
+$root = $PSScriptRoot
+if (-not $root) { $root = Split-Path -Parent $MyInvocation.MyCommand.Path }
+$bench = Join-Path $root 'bench'
+$out = Join-Path $bench 'out'
+$results = Join-Path $out 'results.csv'
+
+# Datengrössen (Vielfache der Beispieldaten) und Messdauer, über Umgebungsvariablen anpassbar
+$scales = if ($env:BENCH_SCALES) { $env:BENCH_SCALES -split '\s+' } else { @('1', '10', '100', '1000') }
+$warmups = if ($env:BENCH_WARMUPS) { $env:BENCH_WARMUPS } else { '3' }
+$iterations = if ($env:BENCH_ITERATIONS) { $env:BENCH_ITERATIONS } else { '5' }
+$millis = if ($env:BENCH_MILLIS) { $env:BENCH_MILLIS } else { '1000' }
+$javaOpts = if ($env:BENCH_JAVA_OPTS) { $env:BENCH_JAVA_OPTS -split '\s+' } else { @('-Xmx4g') }
+
+Write-Host 'Compiling...'
+$benchSrc = Get-ChildItem -Path (Join-Path $bench 'src') -Recurse -File -Filter *.java | ForEach-Object { $_.FullName }
+$tools = Join-Path $out 'tools'
+New-Item -ItemType Directory -Force -Path $tools | Out-Null
+& javac -d $tools -encoding UTF-8 @benchSrc
+if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
+# Die Analysis-SPI (shared/src/analysis) gehört nur zu V2
+$sources = @{ 'v1' = @('v1-imperative/src', 'shared/src/model', 'shared/src/util'); 'v2' = @('v2-functional/src', 'shared/src') }
+foreach ($v in 'v1', 'v2') {
+  $cls = Join-Path $out $v
+  New-Item -ItemType Directory -Force -Path $cls | Out-Null
+  $files = Get-ChildItem -Path ($sources[$v] | ForEach-Object { Join-Path $root $_ }) -Recurse -File -Filter *.java | ForEach-Object { $_.FullName }
+  & javac -d $cls -encoding UTF-8 @files @benchSrc (Join-Path $bench "$v/Bench.java")
+  if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
+}
+
+Set-Content -LiteralPath $results -Value 'version,scale,benchmark,ops,ns_per_op,ns_error,bytes_per_op,mb_per_sec,gc_count' -Encoding UTF8
+foreach ($s in $scales) {
+  $data = Join-Path $bench "data/x$s"
+  if (!(Test-Path -LiteralPath (Join-Path $data 'matches.csv'))) {
+    Write-Host "Generating data x$s..."
+    & java -cp $tools bench.ScaleData (Join-Path $root 'v1-imperative/data') $data $s
+    if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
+  }
+  foreach ($v in 'v1', 'v2') {
+    Write-Host "Running $v x$s..."
+    & java @javaOpts "-Dbench.warmups=$warmups" "-Dbench.iterations=$iterations" "-Dbench.millis=$millis" `
+      -cp (Join-Path $out $v) Bench $data "x$s" | Tee-Object -Variable lines
+    if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
+    Add-Content -LiteralPath $results -Value $lines -Encoding UTF8
+  }
+}
+
+Write-Host "Results saved to $results"
@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+set -euo pipefail
+DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+BENCH="$DIR/bench"
+OUT="$BENCH/out"
+RESULTS="$OUT/results.csv"
+
+# Datengrössen (Vielfache der Beispieldaten) und Messdauer, über Umgebungsvariablen anpassbar
+SCALES="${BENCH_SCALES:-1 10 100 1000}"
+WARMUPS="${BENCH_WARMUPS:-3}"
+ITERATIONS="${BENCH_ITERATIONS:-5}"
+MILLIS="${BENCH_MILLIS:-1000}"
+JAVA_OPTS="${BENCH_JAVA_OPTS:--Xmx4g}"
+
+echo "Compiling..."
+mkdir -p "$OUT/tools" "$OUT/v1" "$OUT/v2"
+javac -d "$OUT/tools" -encoding UTF-8 $(find "$BENCH/src" -name "*.java")
+for v in v1 v2; do
+  case "$v" in
+    # Die Analysis-SPI (shared/src/analysis) gehört nur zu V2
+    v1) SRC="$DIR/v1-imperative/src $DIR/shared/src/model $DIR/shared/src/util" ;;
+    v2) SRC="$DIR/v2-functional/src $DIR/shared/src" ;;
+  esac
+  javac -d "$OUT/$v" -encoding UTF-8 $(find $SRC "$BENCH/src" -name "*.java") "$BENCH/$v/Bench.java"
+done
+
+echo "version,scale,benchmark,ops,ns_per_op,ns_error,bytes_per_op,mb_per_sec,gc_count" > "$RESULTS"
+for s in $SCALES; do
+  DATA="$BENCH/data/x$s"
+  if [ ! -f "$DATA/matches.csv" ]; then
+    echo "Generating data x$s..."
+    java -cp "$OUT/tools" bench.ScaleData "$DIR/v1-imperative/data" "$DATA" "$s"
+  fi
+  for v in v1 v2; do
+    echo "Running $v x$s..."
+    java $JAVA_OPTS -Dbench.warmups="$WARMUPS" -Dbench.iterations="$ITERATIONS" -Dbench.millis="$MILLIS" \
+      -cp "$OUT/$v" Bench "$DATA" "x$s" | tee -a "$RESULTS"
+  done
+done
+
+echo "Results saved to $RESULTS"
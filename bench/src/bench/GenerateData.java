@@ -0,0 +1,285 @@
+package bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Erzeugt synthetische {@code matches.csv} und {@code players.csv} in beliebiger Grösse,
+ * im gleichen Spaltenformat wie die Beispieldaten (inkl. BOM und 15 Quotenspalten).
+ *
+ * Aufbau: Saison für Saison, pro Saison Spieltag für Spieltag, pro Spieltag alle Ligen.
+ * Jede Liga spielt pro Saison eine doppelte Runde (jedes Team zweimal gegen jedes andere).
+ * Tore sind Poisson-verteilt mit Angriffs-/Abwehrstärke je Team und Heimvorteil;
+ * die Quoten werden aus denselben Wahrscheinlichkeiten mit Buchmacher-Marge berechnet.
+ * BFE/B365 fehlen in älteren Saisons und vereinzelt auch später (leere Felder wie im Original).
+ * Gleicher Seed ergibt dieselbe Datei.
+ *
+ * Aufruf: {@code GenerateData <zielordner> <zeilen> [--leagues=N] [--seasons=N] [--teams=N]
+ * [--players-per-team=N] [--seed=N]}
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class GenerateData {
+
+    // Teams der ersten Liga ("Super League"), weitere Teams heissen "L<liga> Team <nr>"
+    private static final String[] SWISS_TEAMS = {
+            "Basel", "Young Boys", "Zurich", "Servette", "Lugano", "Luzern", "St. Gallen",
+            "Grasshoppers", "Sion", "Thun", "Lausanne", "Winterthur", "Yverdon", "Vaduz",
+            "Aarau", "Xamax"
+    };
+    private static final String[] KICKOFFS = {"15:30", "16:30", "18:00", "20:30"};
+    private static final String HEADER = "﻿Country,League,Season,Date,Time,Home,Away,HG,AG,Res,"
+            + "PSCH,PSCD,PSCA,MaxCH,MaxCD,MaxCA,AvgCH,AvgCD,AvgCA,BFECH,BFECD,BFECA,B365CH,B365CD,B36CA";
+
+    private static final int DAYS_PER_SEASON = 300;
+    private static final int LAST_SEASON = 2025;
+    private static final double HOME_GOALS = 1.55;
+    private static final double AWAY_GOALS = 1.20;
+
+    /**
+     * @param args Zielordner, Anzahl Spiele und optionale Parameter (siehe Klassenbeschreibung)
+     * @throws IOException Wenn eine Datei nicht geschrieben werden kann
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Aufruf: GenerateData <zielordner> <zeilen> [--leagues=N] [--seasons=N]"
+                    + " [--teams=N] [--players-per-team=N] [--seed=N]");
+            System.exit(2);
+        }
+        Path dir = Paths.get(args[0]);
+        long rows = Long.parseLong(args[1].replace("_", ""));
+        int seasons = 20, teams = 20, leagues = 0, playersPerTeam = 2;
+        long seed = 323;
+        for (int i = 2; i < args.length; i++) {
+            String a = args[i];
+            String v = a.substring(a.indexOf('=') + 1);
+            if (a.startsWith("--leagues=")) leagues = Integer.parseInt(v);
+            else if (a.startsWith("--seasons=")) seasons = Integer.parseInt(v);
+            else if (a.startsWith("--teams=")) teams = Integer.parseInt(v);
+            else if (a.startsWith("--players-per-team=")) playersPerTeam = Integer.parseInt(v);
+            else if (a.startsWith("--seed=")) seed = Long.parseLong(v);
+            else throw new IllegalArgumentException("Unbekannter Parameter: " + a);
+        }
+        if (teams < 2 || teams % 2 != 0) throw new IllegalArgumentException("--teams muss gerade und >= 2 sein");
+        // Ohne Angabe so viele Ligen, dass die Zeilen in die gewünschten Saisons passen
+        long perLeagueSeason = (long) teams * (teams - 1);
+        if (leagues <= 0) leagues = (int) Math.max(2, (rows + seasons * perLeagueSeason - 1) / (seasons * perLeagueSeason));
+
+        Files.createDirectories(dir);
+        new GenerateData(leagues, seasons, teams, playersPerTeam, seed).write(dir, rows);
+    }
+
+    private final int leagues, seasons, teams, playersPerTeam;
+    private final SplittableRandom random;
+    private final String[] leagueNames;
+    private final String[][] teamNames;
+
+    // Stärke je Liga und Team, wird jede Saison leicht verändert
+    private final double[][] attack;
+    private final double[][] defence;
+
+    // Tore pro Team der laufenden Saison (für players.csv)
+    private final int[][] seasonGoals;
+
+    private GenerateData(int leagues, int seasons, int teams, int playersPerTeam, long seed) {
+        this.leagues = leagues;
+        this.seasons = seasons;
+        this.teams = teams;
+        this.playersPerTeam = playersPerTeam;
+        this.random = new SplittableRandom(seed);
+        leagueNames = new String[leagues];
+        teamNames = new String[leagues][teams];
+        attack = new double[leagues][teams];
+        defence = new double[leagues][teams];
+        seasonGoals = new int[leagues][teams];
+        for (int l = 0; l < leagues; l++) {
+            leagueNames[l] = l == 0 ? "Super League" : l == 1 ? "Challenge League" : "League " + (l + 1);
+            for (int t = 0; t < teams; t++) {
+                teamNames[l][t] = l == 0 && t < SWISS_TEAMS.length ? SWISS_TEAMS[t] : "L" + (l + 1) + " Team " + (t + 1);
+                attack[l][t] = strength();
+                defence[l][t] = strength();
+            }
+        }
+    }
+
+    private void write(Path dir, long rows) throws IOException {
+        int rounds = 2 * (teams - 1);
+        int matchesPerRound = teams / 2;
+        int firstSeason = LAST_SEASON - seasons + 1;
+        int daysPerRound = Math.max(1, DAYS_PER_SEASON / rounds);
+        long written = 0;
+
+        try (BufferedWriter matches = writer(dir.resolve("matches.csv"));
+             BufferedWriter players = writer(dir.resolve("players.csv"))) {
+            matches.write(HEADER);
+            matches.newLine();
+            players.write("player,team,league,season,goals");
+            players.newLine();
+            StringBuilder line = new StringBuilder(256);
+
+            // Nach den vorgegebenen Saisons geht es mit weiteren Saisons weiter, bis die Zeilen erreicht sind
+            for (int season = firstSeason; written < rows; season++) {
+                for (int[] g : seasonGoals) Arrays.fill(g, 0);
+                boolean extraBooks = season >= 2019;
+                for (int r = 0; r < rounds && written < rows; r++) {
+                    int dayOfSeason = 14 + r * daysPerRound;
+                    String date = date(season, dayOfSeason);
+                    for (int l = 0; l < leagues && written < rows; l++) {
+                        for (int m = 0; m < matchesPerRound && written < rows; m++) {
+                            int[] pair = fixture(r, m);
+                            line.setLength(0);
+                            match(line, l, season, date, pair[0], pair[1], extraBooks);
+                            matches.append(line);
+                            matches.newLine();
+                            written++;
+                        }
+                    }
+                }
+                writePlayers(players, season);
+                drift();
+            }
+        }
+    }
+
+    // Paarung m des Spieltags r nach dem Kreisverfahren; Rückrunde mit getauschtem Heimrecht
+    private int[] fixture(int r, int m) {
+        int n = teams;
+        int round = r % (n - 1);
+        int a = m == 0 ? n - 1 : (round + m) % (n - 1);
+        int b = (round + n - 1 - m) % (n - 1);
+        if (m == 0) b = round;
+        boolean swap = (round % 2 == 1) ^ (r >= n - 1);
+        return swap ? new int[]{b, a} : new int[]{a, b};
+    }
+
+    private void match(StringBuilder sb, int l, int season, String date, int home, int away, boolean extraBooks) {
+        double lh = HOME_GOALS * attack[l][home] * defence[l][away];
+        double la = AWAY_GOALS * attack[l][away] * defence[l][home];
+        int hg = poisson(lh);
+        int ag = poisson(la);
+        seasonGoals[l][home] += hg;
+        seasonGoals[l][away] += ag;
+
+        sb.append("Switzerland,").append(leagueNames[l]).append(',')
+                .append(season).append('/').append(season + 1).append(',')
+                .append(date).append(',')
+                .append(KICKOFFS[random.nextInt(KICKOFFS.length)]).append(',')
+                .append(teamNames[l][home]).append(',').append(teamNames[l][away]).append(',')
+                .append(hg).append(',').append(ag).append(',')
+                .append(hg > ag ? 'H' : hg < ag ? 'A' : 'D');
+
+        double[] p = outcomeProbabilities(lh, la);
+        odds(sb, p, 0.025);   // PS (Closing)
+        odds(sb, p, -0.01);   // Max
+        odds(sb, p, 0.055);   // Avg
+        if (extraBooks && random.nextDouble() < 0.9) odds(sb, p, 0.01); else sb.append(",,,");   // BFE
+        if (extraBooks && random.nextDouble() < 0.9) odds(sb, p, 0.06); else sb.append(",,,");   // B365
+    }
+
+    // Wahrscheinlichkeiten für Heimsieg, Unentschieden, Auswärtssieg (unabhängige Poisson-Verteilungen)
+    private static double[] outcomeProbabilities(double lh, double la) {
+        double[] ph = pmf(lh), pa = pmf(la);
+        double home = 0, draw = 0, away = 0;
+        for (int i = 0; i < ph.length; i++) {
+            for (int j = 0; j < pa.length; j++) {
+                double p = ph[i] * pa[j];
+                if (i > j) home += p; else if (i == j) draw += p; else away += p;
+            }
+        }
+        double sum = home + draw + away;
+        return new double[]{home / sum, draw / sum, away / sum};
+    }
+
+    private static double[] pmf(double lambda) {
+        double[] p = new double[11];
+        p[0] = Math.exp(-lambda);
+        for (int k = 1; k < p.length; k++) p[k] = p[k - 1] * lambda / k;
+        return p;
+    }
+
+    // Drei Quoten mit Marge und etwas Rauschen, auf zwei Nachkommastellen wie im Original
+    private void odds(StringBuilder sb, double[] p, double margin) {
+        for (double prob : p) {
+            double noisy = prob * (1 + margin) * (1 + (random.nextDouble() - 0.5) * 0.04);
+            int hundredths = (int) Math.round(100 / noisy);
+            sb.append(',');
+            appendDecimal(sb, Math.max(101, hundredths));
+        }
+    }
+
+    // 1.60 -> "1.6", 4.00 -> "4", wie in den Beispieldaten
+    private static void appendDecimal(StringBuilder sb, int hundredths) {
+        sb.append(hundredths / 100);
+        int frac = hundredths % 100;
+        if (frac == 0) return;
+        sb.append('.');
+        if (frac % 10 == 0) sb.append(frac / 10);
+        else sb.append(frac < 10 ? "0" : "").append(frac);
+    }
+
+    private void writePlayers(BufferedWriter out, int season) throws IOException {
+        for (int l = 0; l < leagues; l++) {
+            for (int t = 0; t < teams; t++) {
+                int remaining = seasonGoals[l][t];
+                for (int k = 0; k < playersPerTeam; k++) {
+                    // Bester Schütze trifft rund ein Drittel der Teamtore, die weiteren weniger
+                    int goals = (int) Math.round(remaining * (0.2 + random.nextDouble() * 0.25));
+                    remaining -= goals;
+                    out.write("Player " + (l + 1) + "-" + (t + 1) + "-" + (k + 1) + ","
+                            + teamNames[l][t] + "," + leagueNames[l] + "," + season + "," + goals);
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    // Stärken zwischen den Saisons leicht verändern
+    private void drift() {
+        for (int l = 0; l < leagues; l++) {
+            for (int t = 0; t < teams; t++) {
+                attack[l][t] = clamp(attack[l][t] * (0.9 + random.nextDouble() * 0.2));
+                defence[l][t] = clamp(defence[l][t] * (0.9 + random.nextDouble() * 0.2));
+            }
+        }
+    }
+
+    private double strength() {
+        return 0.7 + random.nextDouble() * 0.6;
+    }
+
+    private static double clamp(double v) {
+        return Math.max(0.5, Math.min(1.6, v));
+    }
+
+    // Poisson-Zufallszahl (Knuth), für kleine Erwartungswerte ausreichend schnell
+    private int poisson(double lambda) {
+        double limit = Math.exp(-lambda);
+        double p = 1;
+        int k = 0;
+        do {
+            k++;
+            p *= random.nextDouble();
+        } while (p > limit);
+        return k - 1;
+    }
+
+    // Datum dd/MM/yyyy: Saisonstart am 1. Juli plus Tage
+    private static String date(int season, int day) {
+        LocalDate d = LocalDate.of(season, 7, 1).plusDays(day);
+        return (d.getDayOfMonth() < 10 ? "0" : "") + d.getDayOfMonth() + "/"
+                + (d.getMonthValue() < 10 ? "0" : "") + d.getMonthValue() + "/" + d.getYear();
+    }
+
+    private static BufferedWriter writer(Path path) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), 1 << 20);
+    }
+}
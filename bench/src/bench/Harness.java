@@ -0,0 +1,131 @@
+package bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * Kleiner Mess-Harness für die Benchmarks von V1 und V2 (nur JDK, keine Abhängigkeiten).
+ * Arbeitet wie JMH im Modus "avgt": zuerst Aufwärm-Iterationen, danach Mess-Iterationen
+ * mit fester Dauer; pro Iteration wird die Operation so oft wie möglich ausgeführt.
+ *
+ * Zusätzlich zur Zeit pro Operation werden wie bei {@code -prof gc} die allozierten Bytes
+ * pro Operation (Summe über alle lebenden Threads, also auch Fork/Join-Worker),
+ * die Allokationsrate und die Anzahl GC-Läufe ausgegeben.
+ * Pro Benchmark erscheint eine CSV-Zeile:
+ * {@code version,scale,benchmark,ops,ns_per_op,ns_error,bytes_per_op,mb_per_sec,gc_count}
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class Harness {
+
+    private final String version;
+    private final String scale;
+    private final int warmups;
+    private final int iterations;
+    private final long iterationNanos;
+
+    // Ergebnisse landen hier, damit der JIT die Operationen nicht wegoptimiert
+    private static volatile Object sink;
+
+    /**
+     * @param version Name der Implementierung (z. B. "v1")
+     * @param scale Bezeichnung der Datengrösse (z. B. "x10")
+     * @param warmups Anzahl Aufwärm-Iterationen
+     * @param iterations Anzahl Mess-Iterationen
+     * @param iterationMillis Dauer einer Iteration in Millisekunden
+     */
+    public Harness(String version, String scale, int warmups, int iterations, long iterationMillis) {
+        this.version = version;
+        this.scale = scale;
+        this.warmups = warmups;
+        this.iterations = iterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /**
+     * Liest die Einstellungen aus System-Properties
+     * ({@code bench.warmups}, {@code bench.iterations}, {@code bench.millis}).
+     * @param version Name der Implementierung
+     * @param scale Bezeichnung der Datengrösse
+     * @return Der Harness
+     */
+    public static Harness fromProperties(String version, String scale) {
+        return new Harness(version, scale,
+                Integer.getInteger("bench.warmups", 3),
+                Integer.getInteger("bench.iterations", 5),
+                Long.getLong("bench.millis", 1000L));
+    }
+
+    /**
+     * Misst eine Operation und gibt das Ergebnis als CSV-Zeile aus.
+     * @param name Name des Benchmarks
+     * @param op Die Operation; das Ergebnis wird verbraucht
+     * @throws Exception Wenn die Operation fehlschlägt
+     */
+    public void run(String name, Callable<?> op) throws Exception {
+        for (int i = 0; i < warmups; i++) iteration(op);
+
+        double[] nsPerOp = new double[iterations];
+        long totalOps = 0;
+        long totalNanos = 0;
+        long bytesBefore = allocatedBytes();
+        long gcBefore = gcCount();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            long ops = iteration(op);
+            long elapsed = System.nanoTime() - start;
+            nsPerOp[i] = (double) elapsed / ops;
+            totalOps += ops;
+            totalNanos += elapsed;
+        }
+        long bytes = allocatedBytes() - bytesBefore;
+        long gcs = gcCount() - gcBefore;
+
+        double mean = 0;
+        for (double v : nsPerOp) mean += v;
+        mean /= iterations;
+        double var = 0;
+        for (double v : nsPerOp) var += (v - mean) * (v - mean);
+        double error = iterations > 1 ? Math.sqrt(var / (iterations - 1)) : 0;
+        double bytesPerOp = (double) bytes / totalOps;
+        double mbPerSec = bytes / (1024.0 * 1024.0) / (totalNanos / 1e9);
+
+        System.out.printf(Locale.ROOT, "%s,%s,%s,%d,%.1f,%.1f,%.0f,%.1f,%d%n",
+                version, scale, name, totalOps, mean, error, bytesPerOp, mbPerSec, gcs);
+    }
+
+    // Führt die Operation so oft aus, bis die Iterationsdauer erreicht ist (mindestens einmal)
+    private long iteration(Callable<?> op) throws Exception {
+        long start = System.nanoTime();
+        long ops = 0;
+        do {
+            sink = op.call();
+            ops++;
+        } while (System.nanoTime() - start < iterationNanos);
+        return ops;
+    }
+
+    // Summe der allozierten Bytes aller lebenden Threads (-1 falls nicht unterstützt)
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean base = ManagementFactory.getThreadMXBean();
+        if (!(base instanceof com.sun.management.ThreadMXBean)) return -1;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) base;
+        if (!threads.isThreadAllocatedMemorySupported()) return -1;
+        long sum = 0;
+        for (long b : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (b > 0) sum += b;
+        }
+        return sum;
+    }
+
+    private static long gcCount() {
+        long sum = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sum += Math.max(0, gc.getCollectionCount());
+        }
+        return sum;
+    }
+}
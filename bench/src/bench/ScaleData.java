@@ -0,0 +1,59 @@
+package bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Erzeugt vergrösserte Kopien der Beispieldaten für die Benchmarks:
+ * Header (inkl. BOM) einmal, danach alle Datenzeilen {@code factor}-mal hintereinander.
+ * Liga/Saison-Kombinationen und Teams bleiben gleich, nur die Anzahl Zeilen wächst.
+ *
+ * Aufruf: {@code ScaleData <quellordner> <zielordner> <faktor>}
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class ScaleData {
+
+    /**
+     * @param args Quellordner (mit matches.csv und players.csv), Zielordner, Faktor
+     * @throws IOException Wenn eine Datei nicht gelesen oder geschrieben werden kann
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Aufruf: ScaleData <quellordner> <zielordner> <faktor>");
+            System.exit(2);
+        }
+        Path src = Paths.get(args[0]);
+        Path dst = Paths.get(args[1]);
+        int factor = Integer.parseInt(args[2]);
+        Files.createDirectories(dst);
+        for (String file : new String[]{"matches.csv", "players.csv"}) {
+            scale(src.resolve(file), dst.resolve(file), factor);
+        }
+    }
+
+    private static void scale(Path in, Path out, int factor) throws IOException {
+        List<String> lines = Files.readAllLines(in, StandardCharsets.UTF_8);
+        List<String> rows = new ArrayList<>();
+        for (int i = 1; i < lines.size(); i++) {
+            if (!lines.get(i).isBlank()) rows.add(lines.get(i));
+        }
+        try (BufferedWriter w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            w.write(lines.isEmpty() ? "" : lines.get(0));
+            w.newLine();
+            for (int f = 0; f < factor; f++) {
+                for (String row : rows) {
+                    w.write(row);
+                    w.newLine();
+                }
+            }
+        }
+    }
+}
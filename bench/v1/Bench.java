@@ -0,0 +1,63 @@
+import analysis.EloRatings;
+import analysis.FormTracker;
+import analysis.PartitionStats;
+import bench.Harness;
+import model.MatchTable;
+import model.PlayerStat;
+import util.CsvUtil;
+import util.ParallelMatchLoader;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks der imperativen Version (V1), ein Benchmark pro Abschnitt des Berichts.
+ * Ruft dieselben Methoden auf wie {@link Main}; die Eingaben jedes Abschnitts
+ * (geladene Tabelle, Zeilen der Saison, ...) werden vorab einmal berechnet.
+ *
+ * Aufruf: {@code Bench <datenordner> <bezeichnung>}
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class Bench {
+
+    /**
+     * @param args Datenordner (mit matches.csv und players.csv) und Bezeichnung der Datengrösse
+     * @throws Exception Wenn Daten nicht geladen werden können oder ein Benchmark fehlschlägt
+     */
+    public static void main(String[] args) throws Exception {
+        Path matchesPath = Paths.get(args[0], "matches.csv");
+        String playersPath = Paths.get(args[0], "players.csv").toString();
+        Harness h = Harness.fromProperties("v1", args[1]);
+
+        // Eingaben einmal vorbereiten (ohne Snapshot, damit immer die CSV-Datei gelesen wird)
+        MatchTable matches = ParallelMatchLoader.load(matchesPath);
+        List<PlayerStat> players = new ArrayList<>();
+        CsvUtil.forEachRow(playersPath, row -> players.add(PlayerStat.fromCsv(row)));
+        String league = Main.inferLeague(matches, matches.index());
+        int leagueId = matches.leagues().find(league);
+        int season = matches.index().latestSeason(leagueId);
+        int[] rows = Main.filterSeason(matches, leagueId, season);
+
+        h.run("load", () -> ParallelMatchLoader.load(matchesPath));
+        h.run("filter", () -> Main.filterSeason(matches, leagueId, season));
+        h.run("goalDiff", () -> Main.goalDiffs(matches, rows));
+        h.run("goalsPerTeam", () -> Main.goalsPerTeam(matches, scope(matches, rows, leagueId, season)));
+        h.run("topScorers", () -> Main.topScorers(players, league, season, 5));
+        // Durchschnitt und Heim/Auswärts/Unentschieden entstehen im selben Durchlauf -> ein Eintrag
+        h.run("overall", () -> Main.overall(matches));
+        h.run("table", () -> Main.table(matches, scope(matches, rows, leagueId, season)).ranking());
+        h.run("elo", () -> Main.elo(matches, EloRatings.DEFAULT_K, EloRatings.DEFAULT_HOME_ADVANTAGE));
+        h.run("form", () -> Main.form(matches, FormTracker.DEFAULT_WINDOW, null));
+        h.run("playerJoin", () -> Main.playerJoin(matches, players));
+    }
+
+    // Kennzahlen der Saison; gehört zum Abschnitt, da V2 sie ebenfalls pro Abschnitt berechnet
+    private static PartitionStats.Partition scope(MatchTable matches, int[] rows, int leagueId, int season) {
+        PartitionStats.Partition p = Main.seasonStats(matches, rows).get(leagueId, season);
+        return p != null ? p : PartitionStats.Partition.empty(leagueId, season);
+    }
+}
@@ -0,0 +1,56 @@
+import analysis.Analysis;
+import bench.Harness;
+import model.Match;
+import model.MatchStore;
+import model.PlayerStat;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Benchmarks der funktionalen Version (V2), ein Benchmark pro Abschnitt des Berichts und Backend.
+ * Ruft dieselben Methoden auf wie {@link Main}; die Eingaben jedes Abschnitts
+ * (geladene Spiele, Spiele der Saison, ...) werden vorab einmal berechnet.
+ * Das Standard-Backend ("stream") misst unter dem Namen des Abschnitts, die anderen
+ * unter "abschnitt@backend" (z. B. "table@parallel").
+ *
+ * Aufruf: {@code Bench <datenordner> <bezeichnung>}
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class Bench {
+
+    /**
+     * @param args Datenordner (mit matches.csv und players.csv) und Bezeichnung der Datengrösse
+     * @throws Exception Wenn Daten nicht geladen werden können oder ein Benchmark fehlschlägt
+     */
+    public static void main(String[] args) throws Exception {
+        String matchesPath = Paths.get(args[0], "matches.csv").toString();
+        String playersPath = Paths.get(args[0], "players.csv").toString();
+        Harness h = Harness.fromProperties("v2", args[1]);
+
+        // Eingaben einmal vorbereiten
+        List<Match> matches = Main.loadMatches(matchesPath);
+        List<PlayerStat> players = Main.loadPlayers(playersPath);
+        String league = Main.inferLeague(matches);
+        MatchStore store = MatchStore.of(matches);
+        int season = store.latestSeason(league);
+        List<Match> seasonMatches = store.partition(league, season);
+
+        h.run("load", () -> Main.loadMatches(matchesPath));
+        h.run("partition", () -> MatchStore.of(matches).partition(league, season));
+        for (Analysis a : Analysis.all()) {
+            String suffix = a.name().equals(Analysis.DEFAULT) ? "" : "@" + a.name();
+            h.run("filter" + suffix, () -> a.filterSeason(matches, league, season));
+            h.run("goalDiff" + suffix, () -> a.goalDiffs(seasonMatches));
+            h.run("goalsPerTeam" + suffix, () -> a.goalsPerTeam(seasonMatches));
+            h.run("topScorers" + suffix, () -> a.topScorers(players, league, season, 5));
+            h.run("averageGoals" + suffix, () -> a.averageGoals(matches));
+            h.run("table" + suffix, () -> Main.table(a, seasonMatches));
+            h.run("outcomes" + suffix, () -> a.outcomes(matches));
+            // Vergleichswert zu "overall" in V1 (dort beide Werte in einem Durchlauf)
+            h.run("overall" + suffix, () -> new Object[]{a.averageGoals(matches), a.outcomes(matches)});
+        }
+    }
+}
@@ -3,26 +3,137 @@ set -euo pipefail
 DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
 OUT="$DIR/compare-out"
 mkdir -p "$OUT"
+
+# Mit "--generated [zeilen...]": beide Versionen auf generierten Datensätzen laufen lassen
+# und Laufzeit, maximalen Speicher (RSS) und Zeilen pro Sekunde ausgeben.
+# V2 läuft zusätzlich mit jedem anderen Backend; erst ab 8192 Spielen teilt forkjoin wirklich auf,
+# daher wird es nur hier (und nicht mit den Beispieldaten) mit mehreren Teilaufgaben geprüft.
+# Die Standardgrössen laufen mit dem Standard-Heap; für 10 Mio. Zeilen und mehr braucht V2
+# mehr Speicher, z. B. COMPARE_JAVA_OPTS=-Xmx8g bash compare.sh --generated 10000000
+if [ "${1:-}" = "--generated" ]; then
+  shift
+  ROWS="${*:-100000 1000000}"
+  JAVA_OPTS="${COMPARE_JAVA_OPTS:-}"
+  TOOLS="$DIR/bench/out/tools"
+
+  echo "Compiling..."
+  mkdir -p "$TOOLS" "$DIR/v1-imperative/out" "$DIR/v2-functional/out"
+  javac -d "$TOOLS" -encoding UTF-8 $(find "$DIR/bench/src" -name "*.java")
+  javac -d "$DIR/v1-imperative/out" -encoding UTF-8 $(find "$DIR/v1-imperative/src" "$DIR/shared/src/model" "$DIR/shared/src/util" -name "*.java")
+  javac -d "$DIR/v2-functional/out" -encoding UTF-8 $(find "$DIR/v2-functional/src" "$DIR/shared/src" -name "*.java")
+
+  # Führt eine Version aus; setzt WALL_MS, PEAK_KB (aus /proc, "n/a" falls nicht verfügbar) und STATUS.
+  # Nur stdout landet in der verglichenen Datei, stderr in "<datei>.err"; weitere Argumente gehen an Main
+  measure() {
+    local vdir="$1" data="$2" target="$3"
+    shift 3
+    local start end pid hwm
+    start=$(date +%s%N)
+    (cd "$vdir" && exec java $JAVA_OPTS -cp "$vdir/out" Main --data="$data" "$@") > "$target" 2> "$target.err" &
+    pid=$!
+    PEAK_KB=0
+    while kill -0 "$pid" 2>/dev/null; do
+      hwm=$(awk '/^VmHWM:/ {print $2}' "/proc/$pid/status" 2>/dev/null || true)
+      if [ -n "$hwm" ] && [ "$hwm" -gt "$PEAK_KB" ]; then PEAK_KB=$hwm; fi
+      sleep 0.05
+    done
+    STATUS=0
+    wait "$pid" || STATUS=$?
+    end=$(date +%s%N)
+    WALL_MS=$(( (end - start) / 1000000 ))
+    if [ "$PEAK_KB" -eq 0 ]; then PEAK_KB="n/a"; fi
+  }
+
+  SUMMARY="$OUT/generated.txt"
+  printf "%-10s | %-13s | %9s | %9s | %12s | %s\n" "Rows" "Version" "Wall (s)" "RSS (MB)" "Rows/s" "Exit" > "$SUMMARY"
+  # "v2" ist das Standard-Backend (stream)
+  BACKENDS="imperative parallel forkjoin"
+  FAILED=0
+  for n in $ROWS; do
+    DATA="$OUT/generated/$n"
+    if [ ! -f "$DATA/matches.csv" ]; then
+      echo "Generating $n rows..."
+      java -cp "$TOOLS" bench.GenerateData "$DATA" "$n"
+    fi
+    # V1 zweimal: "v1-cold" ohne Snapshot (parst die CSV-Datei und schreibt den Snapshot),
+    # "v1-warm" danach aus dem Snapshot; V2 parst immer
+    rm -f "$DATA"/*.snap
+    VERSIONS="v1-cold v1-warm v2"
+    for b in $BACKENDS; do VERSIONS="$VERSIONS v2-$b"; done
+    for v in $VERSIONS; do
+      ARGS=()
+      case "$v" in
+        v1-*) VDIR="$DIR/v1-imperative" ;;
+        v2) VDIR="$DIR/v2-functional" ;;
+        v2-*) VDIR="$DIR/v2-functional"; ARGS=(--backend="${v#v2-}") ;;
+      esac
+      echo "Running $v on $n rows..."
+      measure "$VDIR" "$DATA" "$OUT/$v-$n.txt" ${ARGS[@]+"${ARGS[@]}"}
+      RSS="n/a"
+      if [ "$PEAK_KB" != "n/a" ]; then RSS=$(( PEAK_KB / 1024 )); fi
+      RATE=$(( n * 1000 / (WALL_MS > 0 ? WALL_MS : 1) ))
+      printf "%-10s | %-13s | %9s | %9s | %12s | %s\n" "$n" "$v" \
+        "$(awk -v ms="$WALL_MS" 'BEGIN {printf "%.2f", ms / 1000}')" "$RSS" "$RATE" "$STATUS" >> "$SUMMARY"
+    done
+    # Alle Läufe müssen dieselbe Ausgabe liefern wie V1 aus der CSV-Datei
+    DIFFERENT=""
+    for v in $VERSIONS; do
+      if ! diff -q "$OUT/v1-cold-$n.txt" "$OUT/$v-$n.txt" > /dev/null; then DIFFERENT="$DIFFERENT $OUT/$v-$n.txt"; fi
+    done
+    if [ -z "$DIFFERENT" ]; then
+      echo "$n rows: outputs are identical."
+    else
+      echo "$n rows: differences found (compared with $OUT/v1-cold-$n.txt):$DIFFERENT"
+      FAILED=1
+    fi
+  done
+  cat "$SUMMARY"
+  exit $FAILED
+fi
+
 V1="$OUT/v1.txt"
 V2="$OUT/v2.txt"
+V1_BULK="$OUT/v1-bulk.csv"
+V2_BULK="$OUT/v2-bulk.csv"
 
 echo "Running V1 (imperative)..."
 bash "$DIR/v1-imperative/run.sh" > "$V1"
+bash "$DIR/v1-imperative/run.sh" --bulk=csv > "$V1_BULK"
 
 echo "Running V2 (functional)..."
 bash "$DIR/v2-functional/run.sh" > "$V2"
+bash "$DIR/v2-functional/run.sh" --bulk=csv > "$V2_BULK"
+
+# Jedes Backend von V2 (--backend=...) muss dieselbe Ausgabe liefern wie V1
+BACKENDS="imperative stream parallel forkjoin"
+BACKEND_OK=1
+for b in $BACKENDS; do
+  echo "Running V2 with --backend=$b..."
+  bash "$DIR/v2-functional/run.sh" --backend="$b" > "$OUT/v2-$b.txt"
+done
 
 echo "Comparing outputs..."
-if diff -u "$V1" "$V2"; then
+for b in $BACKENDS; do
+  if ! diff -u "$V1" "$OUT/v2-$b.txt"; then
+    echo "Backend $b differs from V1."
+    BACKEND_OK=0
+  fi
+done
+if diff -u "$V1" "$V2" && diff -u "$V1_BULK" "$V2_BULK" && [ "$BACKEND_OK" -eq 1 ]; then
   echo "Outputs are identical."
   echo "Saved outputs:"
   echo "  $V1"
   echo "  $V2"
+  echo "  $V1_BULK"
+  echo "  $V2_BULK"
+  for b in $BACKENDS; do echo "  $OUT/v2-$b.txt"; done
   exit 0
 else
   echo "Differences found. Saved outputs:"
   echo "  $V1"
   echo "  $V2"
+  echo "  $V1_BULK"
+  echo "  $V2_BULK"
+  for b in $BACKENDS; do echo "  $OUT/v2-$b.txt"; done
   exit 1
 fi
-
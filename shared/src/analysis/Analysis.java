@@ -0,0 +1,85 @@
+package analysis;
+
+import model.Match;
+import model.PlayerStat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Die Abschnitte des Berichts als Schnittstelle, damit sie über verschiedene Backends laufen können:
+ * <ul>
+ *   <li>{@code imperative}: Schleifen ({@link ImperativeAnalysis})</li>
+ *   <li>{@code stream}: sequentielle Streams, Standard ({@link StreamAnalysis})</li>
+ *   <li>{@code parallel}: parallele Streams ({@link ParallelStreamAnalysis})</li>
+ *   <li>{@code forkjoin}: eigene Aufteilung mit {@link java.util.concurrent.RecursiveTask} ({@link ForkJoinAnalysis})</li>
+ * </ul>
+ *
+ * Alle Backends liefern dieselben Ergebnisse in derselben Reihenfolge: Listen bleiben in
+ * Eingabereihenfolge, Maps pro Team werden in Reihenfolge des ersten Auftretens befüllt.
+ * Damit ist auch die Ausgabe bei gleichen Werten (z. B. gleich viele Tore) identisch.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public interface Analysis {
+
+    /** Name des Standard-Backends */
+    String DEFAULT = "stream";
+
+    /**
+     * Sucht ein Backend über seinen Namen.
+     * @param name "imperative", "stream", "parallel" oder "forkjoin"
+     * @return Das Backend
+     * @throws IllegalArgumentException Wenn es kein Backend mit diesem Namen gibt
+     */
+    static Analysis of(String name) {
+        for (Analysis a : all()) {
+            if (a.name().equals(name)) return a;
+        }
+        throw new IllegalArgumentException("Unbekanntes Backend: " + name + " (imperative, stream, parallel, forkjoin)");
+    }
+
+    /** @return Alle Backends */
+    static List<Analysis> all() {
+        return List.of(new ImperativeAnalysis(), new StreamAnalysis(), new ParallelStreamAnalysis(), new ForkJoinAnalysis());
+    }
+
+    /** @return Name des Backends (für --backend=) */
+    String name();
+
+    /**
+     * @return Spiele der Liga/Saison in Eingabereihenfolge
+     */
+    List<Match> filterSeason(List<Match> matches, String league, int season);
+
+    /**
+     * @return Tordifferenz (Heim - Gast) pro Spiel; Index i gehört zu {@code matches.get(i)}
+     */
+    int[] goalDiffs(List<Match> matches);
+
+    /**
+     * @return Team -> Tore (Heim und Auswärts)
+     */
+    Map<String, Integer> goalsPerTeam(List<Match> matches);
+
+    /**
+     * @return Die besten Torschützen der Liga/Saison (bei gleich vielen Toren in Eingabereihenfolge)
+     */
+    List<PlayerStat> topScorers(List<PlayerStat> players, String league, int season, int limit);
+
+    /**
+     * @return Durchschnittliche Tore pro Spiel (0 ohne Spiele)
+     */
+    double averageGoals(List<Match> matches);
+
+    /**
+     * @return Team -> {Siege, Unentschieden, Niederlagen, Tore, Gegentore} (Indizes aus {@link util.MatchCollectors})
+     */
+    Map<String, int[]> table(List<Match> matches);
+
+    /**
+     * @return {Heimsiege, Auswärtssiege, Unentschieden}
+     */
+    long[] outcomes(List<Match> matches);
+}
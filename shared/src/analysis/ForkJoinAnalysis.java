@@ -0,0 +1,180 @@
+package analysis;
+
+import model.Match;
+import model.PlayerStat;
+import util.MatchCollectors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Backend mit eigener Fork/Join-Aufteilung: die Liste wird halbiert, bis ein Teil höchstens
+ * {@value #THRESHOLD} Elemente hat; jeder Teil wird mit einer Schleife in einen eigenen
+ * Zwischenstand gerechnet, die Zwischenstände werden von links nach rechts zusammengeführt.
+ * Für die Maps pro Team werden Zwischenstand, Zusammenführen und Abschluss der Collectoren
+ * aus {@link MatchCollectors} verwendet, daher dieselben Ergebnisse wie die Stream-Backends.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class ForkJoinAnalysis implements Analysis {
+
+    // Kleinere Teile lohnen das Aufteilen nicht
+    private static final int THRESHOLD = 8192;
+
+    private final ForkJoinPool pool;
+
+    /** Rechnet im gemeinsamen ForkJoinPool. */
+    public ForkJoinAnalysis() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool Pool, in dem die Teilaufgaben laufen
+     */
+    public ForkJoinAnalysis(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public String name() {
+        return "forkjoin";
+    }
+
+    /**
+     * Teilt [from, to) rekursiv auf und führt die Zwischenstände in Reihenfolge zusammen
+     * (wird nie serialisiert).
+     */
+    @SuppressWarnings("serial")
+    private static class Task<T, A> extends RecursiveTask<A> {
+        private final List<T> list;
+        private final int from, to;
+        private final Supplier<A> create;
+        private final BiConsumer<A, T> add;
+        private final BinaryOperator<A> merge;
+
+        Task(List<T> list, int from, int to, Supplier<A> create, BiConsumer<A, T> add, BinaryOperator<A> merge) {
+            this.list = list;
+            this.from = from;
+            this.to = to;
+            this.create = create;
+            this.add = add;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= THRESHOLD) {
+                A acc = create.get();
+                for (int i = from; i < to; i++) add.accept(acc, list.get(i));
+                return acc;
+            }
+            int mid = (from + to) >>> 1;
+            Task<T, A> left = new Task<>(list, from, mid, create, add, merge);
+            Task<T, A> right = new Task<>(list, mid, to, create, add, merge);
+            left.fork();
+            A r = right.compute();
+            return merge.apply(left.join(), r);
+        }
+    }
+
+    /**
+     * Schreibt die Tordifferenzen von [from, to) direkt an ihren Index, daher ohne Zusammenführen
+     * (wird nie serialisiert).
+     */
+    @SuppressWarnings("serial")
+    private static class DiffTask extends RecursiveAction {
+        private final List<Match> matches;
+        private final int[] diffs;
+        private final int from, to;
+
+        DiffTask(List<Match> matches, int[] diffs, int from, int to) {
+            this.matches = matches;
+            this.diffs = diffs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Match m = matches.get(i);
+                    diffs[i] = m.homeGoals - m.awayGoals;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new DiffTask(matches, diffs, from, mid), new DiffTask(matches, diffs, mid, to));
+        }
+    }
+
+    private <T, A> A reduce(List<T> list, Supplier<A> create, BiConsumer<A, T> add, BinaryOperator<A> merge) {
+        return pool.invoke(new Task<>(list, 0, list.size(), create, add, merge));
+    }
+
+    private <T, A, R> R collect(List<T> list, Collector<T, A, R> c) {
+        A acc = reduce(list, c.supplier(), c.accumulator(), c.combiner());
+        return c.finisher().apply(acc);
+    }
+
+    private static <T> List<T> concat(List<T> left, List<T> right) {
+        left.addAll(right);
+        return left;
+    }
+
+    @Override
+    public List<Match> filterSeason(List<Match> matches, String league, int season) {
+        return reduce(matches, ArrayList::new,
+                (List<Match> acc, Match m) -> { if (m.league.equals(league) && m.season == season) acc.add(m); },
+                ForkJoinAnalysis::concat);
+    }
+
+    @Override
+    public int[] goalDiffs(List<Match> matches) {
+        int[] diffs = new int[matches.size()];
+        pool.invoke(new DiffTask(matches, diffs, 0, diffs.length));
+        return diffs;
+    }
+
+    @Override
+    public Map<String, Integer> goalsPerTeam(List<Match> matches) {
+        return collect(matches, MatchCollectors.goalsPerTeam());
+    }
+
+    @Override
+    public List<PlayerStat> topScorers(List<PlayerStat> players, String league, int season, int limit) {
+        List<PlayerStat> candidates = reduce(players, ArrayList::new,
+                (List<PlayerStat> acc, PlayerStat p) -> { if (p.league.equals(league) && p.season == season) acc.add(p); },
+                ForkJoinAnalysis::concat);
+        // Nach dem Filtern bleiben wenige Zeilen; stabil sortieren wie sorted() im Stream
+        candidates.sort((a, b) -> Integer.compare(b.goals, a.goals));
+        return new ArrayList<>(candidates.subList(0, Math.min(limit, candidates.size())));
+    }
+
+    @Override
+    public double averageGoals(List<Match> matches) {
+        long[] sum = reduce(matches, () -> new long[1],
+                (long[] acc, Match m) -> acc[0] += m.homeGoals + m.awayGoals,
+                (a, b) -> { a[0] += b[0]; return a; });
+        return matches.isEmpty() ? 0.0 : (double) sum[0] / matches.size();
+    }
+
+    @Override
+    public Map<String, int[]> table(List<Match> matches) {
+        return collect(matches, MatchCollectors.table());
+    }
+
+    @Override
+    public long[] outcomes(List<Match> matches) {
+        return collect(matches, MatchCollectors.outcomes());
+    }
+}
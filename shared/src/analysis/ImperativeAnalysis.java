@@ -0,0 +1,104 @@
+package analysis;
+
+import model.Match;
+import model.PlayerStat;
+import util.MatchCollectors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backend mit einfachen Schleifen, ohne Streams und Collectoren.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class ImperativeAnalysis implements Analysis {
+
+    @Override
+    public String name() {
+        return "imperative";
+    }
+
+    @Override
+    public List<Match> filterSeason(List<Match> matches, String league, int season) {
+        List<Match> result = new ArrayList<>();
+        for (Match m : matches) {
+            if (m.league.equals(league) && m.season == season) result.add(m);
+        }
+        return result;
+    }
+
+    @Override
+    public int[] goalDiffs(List<Match> matches) {
+        int[] result = new int[matches.size()];
+        for (int i = 0; i < result.length; i++) {
+            Match m = matches.get(i);
+            result[i] = m.homeGoals - m.awayGoals;
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Integer> goalsPerTeam(List<Match> matches) {
+        // Erst in Reihenfolge des ersten Auftretens zählen, dann wie der Collector in eine HashMap übertragen
+        Map<String, int[]> goals = new LinkedHashMap<>();
+        for (Match m : matches) {
+            goals.computeIfAbsent(m.homeTeam, t -> new int[1])[0] += m.homeGoals;
+            goals.computeIfAbsent(m.awayTeam, t -> new int[1])[0] += m.awayGoals;
+        }
+        Map<String, Integer> result = new HashMap<>();
+        for (Map.Entry<String, int[]> e : goals.entrySet()) result.put(e.getKey(), e.getValue()[0]);
+        return result;
+    }
+
+    @Override
+    public List<PlayerStat> topScorers(List<PlayerStat> players, String league, int season, int limit) {
+        List<PlayerStat> candidates = new ArrayList<>();
+        for (PlayerStat p : players) {
+            if (p.league.equals(league) && p.season == season) candidates.add(p);
+        }
+        // List.sort ist stabil: bei gleich vielen Toren bleibt die Eingabereihenfolge
+        candidates.sort((a, b) -> Integer.compare(b.goals, a.goals));
+        return new ArrayList<>(candidates.subList(0, Math.min(limit, candidates.size())));
+    }
+
+    @Override
+    public double averageGoals(List<Match> matches) {
+        long goals = 0;
+        for (Match m : matches) goals += m.homeGoals + m.awayGoals;
+        return matches.isEmpty() ? 0.0 : (double) goals / matches.size();
+    }
+
+    @Override
+    public Map<String, int[]> table(List<Match> matches) {
+        Map<String, int[]> table = new LinkedHashMap<>();
+        for (Match m : matches) {
+            record(table.computeIfAbsent(m.homeTeam, t -> new int[5]), m.homeGoals, m.awayGoals);
+            record(table.computeIfAbsent(m.awayTeam, t -> new int[5]), m.awayGoals, m.homeGoals);
+        }
+        return table;
+    }
+
+    private static void record(int[] row, int scored, int conceded) {
+        row[MatchCollectors.GF] += scored;
+        row[MatchCollectors.GA] += conceded;
+        if (scored > conceded) row[MatchCollectors.W]++;
+        else if (scored == conceded) row[MatchCollectors.D]++;
+        else row[MatchCollectors.L]++;
+    }
+
+    @Override
+    public long[] outcomes(List<Match> matches) {
+        long[] counts = new long[3];
+        for (Match m : matches) {
+            if (m.homeGoals > m.awayGoals) counts[0]++;
+            else if (m.homeGoals < m.awayGoals) counts[1]++;
+            else counts[2]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,24 @@
+package analysis;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Backend mit parallelen Streams (gemeinsamer ForkJoinPool). Gleiche Pipelines wie
+ * {@link StreamAnalysis}; die Collectoren haben Combiner, die die Reihenfolge erhalten.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class ParallelStreamAnalysis extends StreamAnalysis {
+
+    @Override
+    public String name() {
+        return "parallel";
+    }
+
+    @Override
+    protected <T> Stream<T> stream(List<T> list) {
+        return list.parallelStream();
+    }
+}
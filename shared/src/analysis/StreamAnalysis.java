@@ -0,0 +1,81 @@
+package analysis;
+
+import model.Match;
+import model.PlayerStat;
+import util.MatchCollectors;
+
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Backend mit sequentiellen Streams und den Collectoren aus {@link MatchCollectors}.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class StreamAnalysis implements Analysis {
+
+    @Override
+    public String name() {
+        return "stream";
+    }
+
+    /**
+     * Stream über eine Liste; {@link ParallelStreamAnalysis} liefert hier einen parallelen Stream.
+     * @param list Die Liste
+     * @return Der Stream
+     */
+    protected <T> Stream<T> stream(List<T> list) {
+        return list.stream();
+    }
+
+    @Override
+    public List<Match> filterSeason(List<Match> matches, String league, int season) {
+        return stream(matches)
+                .filter(m -> m.league.equals(league) && m.season == season)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int[] goalDiffs(List<Match> matches) {
+        return stream(matches)
+                .mapToInt(m -> m.homeGoals - m.awayGoals)
+                .toArray();
+    }
+
+    @Override
+    public Map<String, Integer> goalsPerTeam(List<Match> matches) {
+        return stream(matches).collect(MatchCollectors.goalsPerTeam());
+    }
+
+    @Override
+    public List<PlayerStat> topScorers(List<PlayerStat> players, String league, int season, int limit) {
+        return stream(players)
+                .filter(p -> p.league.equals(league) && p.season == season)
+                .sorted(Comparator.comparingInt((PlayerStat p) -> p.goals).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public double averageGoals(List<Match> matches) {
+        DoubleSummaryStatistics stats = stream(matches)
+                .mapToDouble(m -> m.homeGoals + m.awayGoals)
+                .summaryStatistics();
+        return stats.getCount() == 0 ? 0.0 : stats.getAverage();
+    }
+
+    @Override
+    public Map<String, int[]> table(List<Match> matches) {
+        return stream(matches).collect(MatchCollectors.table());
+    }
+
+    @Override
+    public long[] outcomes(List<Match> matches) {
+        return stream(matches).collect(MatchCollectors.outcomes());
+    }
+}
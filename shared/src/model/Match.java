@@ -9,6 +9,9 @@ package model;
  */
 public class Match {
 
+    /** Spalten von "matches.csv", die {@link #fromColumns(String[])} braucht (in dieser Reihenfolge) */
+    public static final String[] CSV_COLUMNS = {"League", "Season", "Date", "Home", "Away", "HG", "AG"};
+
     // Datum des Spiels
     public final String date;
 
@@ -42,6 +45,9 @@ public class Match {
     // Ballbesitz der Auswärtsmannschaft (in %)
     public final int awayPossession;
 
+    /** Mindestanzahl Spalten einer Zeile für {@link #fromCsv} (bis und mit "AG") */
+    public static final int CSV_FIELDS = 9;
+
     /**
      * Erstellt ein neues Match-Objekt mit allen Spielwerten.
      */
@@ -69,7 +75,9 @@ public class Match {
     public static Match fromCsv(String[] cols) {
         // Erwartete Struktur des neuen Datensatzes "matches.csv":
         // 0: Country, 1: League, 2: Season (z.B. 2012/2013), 3: Date, 4: Time,
-        // 5: Home, 6: Away, 7: HG, 8: AG, 9: Res, ... (weitere Quotenfelder)
+        // 5: Home, 6: Away, 7: HG, 8: AG, 9: Res,
+        // 10-24: Quoten je Anbieter für Heim/Unentschieden/Auswärts (PSC*, MaxC*, AvgC*, BFEC*, B365C*),
+        // werden hier nicht gebraucht und nur in MatchTable gespeichert
         String date = cols[3].trim();
         int season = parseSeason(cols[2].trim());
         String league = cols[1].trim();
@@ -99,7 +107,20 @@ public class Match {
         );
     }
 
-    private static int parseSeason(String value) {
+    /**
+     * Erstellt ein Match-Objekt aus den projizierten Spalten {@link #CSV_COLUMNS}
+     * (z. B. von {@code CsvUtil.stream(path, Match.CSV_COLUMNS)}).
+     * @param values League, Season, Date, Home, Away, HG, AG
+     * @return Ein neues Match-Objekt
+     */
+    public static Match fromColumns(String[] values) {
+        // Karten und Ballbesitz gibt es im Datensatz nicht -> 0 wie in fromCsv
+        return new Match(values[2].trim(), parseSeason(values[1]), values[0].trim(),
+                values[3].trim(), values[4].trim(), parseIntSafe(values[5]), parseIntSafe(values[6]),
+                0, 0, 0, 0);
+    }
+
+    static int parseSeason(String value) {
         // Unterstützt Formate wie "2012/2013" oder "2024"
         String v = value.trim();
         int slash = v.indexOf('/');
@@ -111,7 +132,18 @@ public class Match {
         }
     }
 
-    private static int parseIntSafe(String value) {
+    static float parseFloatSafe(String value) {
+        // Leere oder ungültige Felder (z. B. fehlende BFE/B365-Quoten) -> NaN
+        String v = value.trim();
+        if (v.isEmpty()) return Float.NaN;
+        try {
+            return Float.parseFloat(v);
+        } catch (NumberFormatException e) {
+            return Float.NaN;
+        }
+    }
+
+    static int parseIntSafe(String value) {
         try {
             return Integer.parseInt(value.trim());
         } catch (Exception e) {
@@ -0,0 +1,167 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Öffnet eine Datei zum Lesen und entpackt sie dabei, falls sie gzip-komprimiert ist.
+ * Erkannt wird das an den ersten zwei Bytes (0x1f 0x8b), nicht an der Endung; so
+ * funktionieren auch "matches.csv.gz" oder eine komprimierte "matches.csv".
+ * Archive aus mehreren gzip-Teilen (z. B. mit {@code cat a.gz b.gz} zusammengehängt)
+ * liest {@link GZIPInputStream} am Stück.
+ *
+ * Entpackt wird in einem eigenen Thread: er füllt Blöcke zu {@value #CHUNK} Bytes und legt
+ * sie in eine beschränkte Warteschlange ({@value #QUEUE} Blöcke), aus der der Leser sie holt.
+ * Entpacken und Parsen laufen so gleichzeitig; ist der Leser langsamer, wartet der
+ * Entpacker, statt die ganze Datei in den Speicher zu legen. Gelesene Blöcke gehen an den
+ * Entpacker zurück und werden wiederverwendet.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class CompressedInput {
+
+    // Grösse eines Blocks zwischen Entpacker und Leser
+    private static final int CHUNK = 1 << 18;
+
+    // Anzahl Blöcke, die höchstens auf den Leser warten
+    private static final int QUEUE = 8;
+
+    // Puffer für die komprimierten Bytes im GZIPInputStream
+    private static final int GZIP_BUFFER = 1 << 16;
+
+    /**
+     * Prüft die ersten zwei Bytes auf die gzip-Kennung.
+     * @param path Die Datei
+     * @return true, wenn die Datei gzip-komprimiert ist
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static boolean isGzip(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.read() == 0x1f && in.read() == 0x8b;
+        }
+    }
+
+    /**
+     * Öffnet die Datei; komprimierte Dateien werden im Hintergrund entpackt.
+     * @param path Die Datei
+     * @return Die (entpackten) Bytes der Datei; muss geschlossen werden
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann
+     */
+    public static InputStream open(Path path) throws IOException {
+        if (!isGzip(path)) return Files.newInputStream(path);
+        return new Pipeline(path);
+    }
+
+    // Ein Block mit Daten; length < data.length nur beim letzten Block
+    private static class Chunk {
+        final byte[] data;
+        int length;
+
+        Chunk(byte[] data) {
+            this.data = data;
+        }
+    }
+
+    /**
+     * Liest die Blöcke, die der Entpacker-Thread in die Warteschlange legt.
+     */
+    private static class Pipeline extends InputStream {
+
+        // Markiert das Ende der Daten (oder einen Fehler beim Entpacken)
+        private static final Chunk END = new Chunk(new byte[0]);
+
+        private final Path path;
+        private final BlockingQueue<Chunk> full = new ArrayBlockingQueue<>(QUEUE);
+        private final BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(QUEUE + 2);
+        private final Thread inflater;
+        private volatile IOException failure;
+
+        private Chunk current;
+        private int pos;
+        private boolean done;
+
+        Pipeline(Path path) throws IOException {
+            this.path = path;
+            // Datei schon hier öffnen, damit Fehler beim Öffnen direkt gemeldet werden
+            GZIPInputStream in = new GZIPInputStream(Files.newInputStream(path), GZIP_BUFFER);
+            inflater = new Thread(() -> inflate(in), "gunzip-" + path.getFileName());
+            inflater.setDaemon(true);
+            inflater.start();
+        }
+
+        private void inflate(GZIPInputStream in) {
+            try (in) {
+                while (true) {
+                    Chunk c = free.poll();
+                    if (c == null) c = new Chunk(new byte[CHUNK]);
+                    c.length = in.readNBytes(c.data, 0, CHUNK);
+                    if (c.length > 0) full.put(c);
+                    if (c.length < CHUNK) break;
+                }
+            } catch (IOException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                // Leser wurde geschlossen
+                return;
+            }
+            try {
+                full.put(END);
+            } catch (InterruptedException ignored) {
+                // Leser wurde geschlossen
+            }
+        }
+
+        // Holt den nächsten Block; false am Ende der Daten
+        private boolean fill() throws IOException {
+            if (done) return false;
+            if (current != null) {
+                free.offer(current);
+                current = null;
+            }
+            Chunk c;
+            try {
+                c = full.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Entpacken unterbrochen: " + path, e);
+            }
+            if (c == END) {
+                done = true;
+                if (failure != null) throw new IOException("Fehler beim Entpacken: " + path, failure);
+                return false;
+            }
+            current = c;
+            pos = 0;
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if ((current == null || pos == current.length) && !fill()) return -1;
+            return current.data[pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if ((current == null || pos == current.length) && !fill()) return -1;
+            int n = Math.min(len, current.length - pos);
+            System.arraycopy(current.data, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            inflater.interrupt();
+            full.clear();
+        }
+    }
+}
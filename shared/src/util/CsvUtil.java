@@ -0,0 +1,155 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Hilfsklasse zum Einlesen von CSV-Dateien.
+ * Jede Zeile wird als String-Array zurückgegeben.
+ * Gzip-komprimierte Dateien werden erkannt und beim Lesen entpackt ({@link CompressedInput}).
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class CsvUtil {
+
+    /**
+     * Liest eine CSV-Datei und gibt die Datenzeilen zurück.
+     * Die erste Zeile (Header) wird übersprungen.
+     *
+     * @param path Pfad zur CSV-Datei
+     * @return Liste mit String-Arrays (jede Zeile als Array)
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static List<String[]> readCsv(String path) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        forEachRow(path, rows::add);
+        return rows;
+    }
+
+    /**
+     * Liest eine CSV-Datei Zeile für Zeile und übergibt jede Datenzeile an den Visitor.
+     * Es wird nie die ganze Datei im Speicher gehalten.
+     *
+     * @param path Pfad zur CSV-Datei
+     * @param visitor Wird für jede Datenzeile (ohne Header, ohne Leerzeilen) aufgerufen
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static void forEachRow(String path, Consumer<String[]> visitor) throws IOException {
+        try (BufferedReader br = reader(path)) {
+            String line;
+            boolean headerSkipped = false;
+
+            while ((line = br.readLine()) != null) {
+                // Erste Zeile (Header) überspringen
+                if (!headerSkipped) {
+                    headerSkipped = true;
+                    continue;
+                }
+
+                // Leere Zeilen ignorieren
+                if (line.isBlank()) continue;
+
+                // Zeile in Spalten aufteilen
+                visitor.accept(line.split(","));
+            }
+        }
+    }
+
+    /**
+     * Liefert die Datenzeilen einer CSV-Datei als lazy Stream.
+     * Zeilen werden erst gelesen, wenn der Stream sie anfordert; der Stream muss
+     * geschlossen werden (z. B. mit try-with-resources), damit die Datei freigegeben wird.
+     *
+     * @param path Pfad zur CSV-Datei
+     * @return Stream mit String-Arrays (Header und Leerzeilen sind entfernt)
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann
+     */
+    public static Stream<String[]> stream(String path) throws IOException {
+        BufferedReader br = reader(path);
+        return br.lines()
+                .skip(1)
+                .filter(line -> !line.isBlank())
+                .map(line -> line.split(","))
+                .onClose(() -> {
+                    try {
+                        br.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Liefert nur die angegebenen Spalten einer CSV-Datei als lazy Stream (Projektion).
+     * Die Spaltennummern werden einmal aus den Namen im Header bestimmt. Pro Zeile werden nur
+     * die Kommas bis zur letzten benötigten Spalte gesucht und nur die benötigten Felder als
+     * String herausgeschnitten; der Rest der Zeile wird nicht angeschaut.
+     *
+     * @param path Pfad zur CSV-Datei
+     * @param columns Namen der benötigten Spalten
+     * @return Stream mit den Werten in der Reihenfolge von {@code columns} (fehlende Felder als "")
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann oder eine Spalte im Header fehlt
+     */
+    public static Stream<String[]> stream(String path, String... columns) throws IOException {
+        BufferedReader br = reader(path);
+        try {
+            String headerLine = br.readLine();
+            List<String> header = headerLine == null ? List.of()
+                    : Arrays.stream(headerLine.replace("\uFEFF", "").split(",")).map(String::trim).collect(Collectors.toList());
+            int[] indices = new int[columns.length];
+            for (int k = 0; k < columns.length; k++) {
+                indices[k] = header.indexOf(columns[k]);
+                if (indices[k] < 0) throw new IOException("Spalte fehlt in " + path + ": " + columns[k]);
+            }
+            // Spalte -> Position im Ergebnis (-1 = wird übersprungen)
+            int last = Arrays.stream(indices).max().orElse(-1);
+            int[] slot = new int[last + 1];
+            Arrays.fill(slot, -1);
+            for (int k = 0; k < indices.length; k++) slot[indices[k]] = k;
+
+            return br.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(line -> project(line, slot, columns.length))
+                    .onClose(() -> {
+                        try {
+                            br.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException e) {
+            br.close();
+            throw e;
+        }
+    }
+
+    // Schneidet die Felder mit slot[spalte] >= 0 heraus und hört nach der letzten Spalte in slot auf
+    private static String[] project(String line, int[] slot, int width) {
+        String[] values = new String[width];
+        Arrays.fill(values, "");
+        int start = 0;
+        for (int col = 0; col < slot.length && start <= line.length(); col++) {
+            int end = line.indexOf(',', start);
+            if (end < 0) end = line.length();
+            if (slot[col] >= 0) values[slot[col]] = line.substring(start, end);
+            start = end + 1;
+        }
+        return values;
+    }
+
+    // Liest die Datei als UTF-8-Text; komprimierte Dateien werden im Hintergrund entpackt
+    private static BufferedReader reader(String path) throws IOException {
+        return new BufferedReader(new InputStreamReader(CompressedInput.open(Paths.get(path)), StandardCharsets.UTF_8), 1 << 16);
+    }
+}
@@ -0,0 +1,120 @@
+package util;
+
+import model.Match;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collector;
+
+/**
+ * Eigene Collector-Implementierungen für Spiele, die mit primitivem Zustand arbeiten.
+ * Statt pro Spiel ein Object[], ein Integer oder ein neues Aggregat zu erzeugen,
+ * wird pro Team genau ein int[] angelegt und danach nur noch hochgezählt.
+ *
+ * Alle Collectoren haben einen Combiner und funktionieren daher auch mit {@code .parallel()}.
+ * Der Zwischenstand ist eine LinkedHashMap; der Combiner übernimmt die rechte Teilmenge in die
+ * linke, neue Teams kommen hinten dazu. Dadurch ist die Reihenfolge des ersten Auftretens
+ * sequentiell und parallel gleich, und die Ergebnis-Maps werden in derselben Reihenfolge befüllt.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class MatchCollectors {
+
+    // Positionen im int[] einer Tabellenzeile
+    public static final int W = 0, D = 1, L = 2, GF = 3, GA = 4;
+
+    /**
+     * Gesamttore pro Team (Heim- und Auswärtstore).
+     * @return Collector: Team -> Tore
+     */
+    public static Collector<Match, ?, Map<String, Integer>> goalsPerTeam() {
+        return Collector.<Match, Map<String, int[]>, Map<String, Integer>>of(
+                LinkedHashMap::new,
+                (acc, m) -> {
+                    acc.computeIfAbsent(m.homeTeam, t -> new int[1])[0] += m.homeGoals;
+                    acc.computeIfAbsent(m.awayTeam, t -> new int[1])[0] += m.awayGoals;
+                },
+                (left, right) -> {
+                    right.forEach((team, v) -> {
+                        int[] l = left.putIfAbsent(team, v);
+                        if (l != null) l[0] += v[0];
+                    });
+                    return left;
+                },
+                acc -> {
+                    Map<String, Integer> out = new HashMap<>();
+                    acc.forEach((team, v) -> out.put(team, v[0]));
+                    return out;
+                });
+    }
+
+    /**
+     * Anzahl Spiele pro Team (Heim- und Auswärtsspiele).
+     * @return Collector: Team -> Spiele
+     */
+    public static Collector<Match, ?, Map<String, Long>> appearances() {
+        return Collector.<Match, Map<String, long[]>, Map<String, Long>>of(
+                LinkedHashMap::new,
+                (acc, m) -> {
+                    acc.computeIfAbsent(m.homeTeam, t -> new long[1])[0]++;
+                    acc.computeIfAbsent(m.awayTeam, t -> new long[1])[0]++;
+                },
+                (left, right) -> {
+                    right.forEach((team, v) -> {
+                        long[] l = left.putIfAbsent(team, v);
+                        if (l != null) l[0] += v[0];
+                    });
+                    return left;
+                },
+                acc -> {
+                    Map<String, Long> out = new HashMap<>();
+                    acc.forEach((team, v) -> out.put(team, v[0]));
+                    return out;
+                });
+    }
+
+    /**
+     * Tabelle pro Team. Das int[] enthält Siege, Unentschieden, Niederlagen,
+     * erzielte Tore und Gegentore (Indizes {@link #W}, {@link #D}, {@link #L}, {@link #GF}, {@link #GA}).
+     * @return Collector: Team -> int[5]
+     */
+    public static Collector<Match, ?, Map<String, int[]>> table() {
+        return Collector.<Match, Map<String, int[]>>of(
+                LinkedHashMap::new,
+                (acc, m) -> {
+                    record(acc.computeIfAbsent(m.homeTeam, t -> new int[5]), m.homeGoals, m.awayGoals);
+                    record(acc.computeIfAbsent(m.awayTeam, t -> new int[5]), m.awayGoals, m.homeGoals);
+                },
+                (left, right) -> {
+                    right.forEach((team, v) -> {
+                        int[] l = left.putIfAbsent(team, v);
+                        if (l != null) for (int i = 0; i < l.length; i++) l[i] += v[i];
+                    });
+                    return left;
+                });
+    }
+
+    private static void record(int[] row, int scored, int conceded) {
+        row[GF] += scored;
+        row[GA] += conceded;
+        if (scored > conceded) row[W]++;
+        else if (scored == conceded) row[D]++;
+        else row[L]++;
+    }
+
+    /**
+     * Zählt Heimsiege, Auswärtssiege und Unentschieden.
+     * @return Collector: {Heimsiege, Auswärtssiege, Unentschieden}
+     */
+    public static Collector<Match, ?, long[]> outcomes() {
+        return Collector.<Match, long[]>of(
+                () -> new long[3],
+                (acc, m) -> acc[m.homeGoals > m.awayGoals ? 0 : m.homeGoals < m.awayGoals ? 1 : 2]++,
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) left[i] += right[i];
+                    return left;
+                });
+    }
+}
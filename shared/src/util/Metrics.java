@@ -0,0 +1,237 @@
+package util;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Misst die Phasen eines Laufs (mit {@code --metrics}): Wanduhrzeit, CPU-Zeit, allozierte
+ * Bytes und Anzahl GC-Läufe pro Phase. Phasen laufen nacheinander; {@link #phase} beendet
+ * die vorherige und beginnt die nächste, {@link #finish} beendet die letzte.
+ *
+ * CPU-Zeit ist die des ganzen Prozesses (auch Worker-, GC- und JIT-Threads). Allozierte Bytes
+ * sind die Summe über alle Threads ({@code com.sun.management.ThreadMXBean}, wie im Benchmark),
+ * also auch die der Worker beim parallelen Laden, in {@code --bulk} und in den parallelen Backends;
+ * gezählt wird pro Thread der Zuwachs seit Beginn der Phase. Threads, die vor dem Ende der Phase
+ * beendet werden, sind dann nicht mehr abfragbar; die eigenen Threadpools werden daher mit
+ * {@link #threadFactory()} erstellt, deren Threads ihren Stand beim Beenden melden.
+ *
+ * Pro Phase entsteht in jedem Lauf ein {@link PhaseEvent} für JFR, auch ohne {@code --metrics};
+ * ohne laufende Aufnahme kostet das praktisch nichts. Ist die Messung ausgeschaltet
+ * ({@link #disabled()}), werden CPU-Zeit und Allokation nur gelesen, wenn JFR das Ereignis
+ * aufzeichnet, und es entstehen weder Tabelle noch JSON.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class Metrics {
+
+    private final boolean enabled;
+    private final com.sun.management.ThreadMXBean threads;
+    private final com.sun.management.OperatingSystemMXBean os;
+
+    private final List<Phase> phases = new ArrayList<>();
+    private Phase current;
+    private PhaseEvent event;
+
+    // Allozierte Bytes pro Thread-Id zu Beginn der laufenden Phase
+    private final Map<Long, Long> allocatedAtStart = new HashMap<>();
+
+    // Von beendeten Pool-Threads gemeldet: {Thread-Id, allozierte Bytes}
+    private static final Queue<long[]> EXITED = new ConcurrentLinkedQueue<>();
+
+    private Metrics(boolean enabled) {
+        this.enabled = enabled;
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    }
+
+    /** @return Eine aktive Messung */
+    public static Metrics enabled() {
+        return new Metrics(true);
+    }
+
+    /** @return Eine Messung, die nur JFR-Ereignisse erzeugt */
+    public static Metrics disabled() {
+        return new Metrics(false);
+    }
+
+    /**
+     * Threads für die Pools des Programms: jeder Thread meldet beim Beenden seine allozierten Bytes,
+     * damit sie auch dann in der Phase zählen, wenn der Pool vor ihrem Ende geschlossen wird.
+     * @return Die ThreadFactory
+     */
+    public static ThreadFactory threadFactory() {
+        ThreadFactory base = Executors.defaultThreadFactory();
+        return task -> base.newThread(() -> {
+            try {
+                task.run();
+            } finally {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                EXITED.add(new long[]{Thread.currentThread().getId(), threads.getCurrentThreadAllocatedBytes()});
+            }
+        });
+    }
+
+    /**
+     * Beendet die laufende Phase (falls vorhanden) und beginnt eine neue.
+     * @param name Name der Phase
+     */
+    public void phase(String name) {
+        finish();
+        event = new PhaseEvent();
+        event.phase = name;
+        // Die MXBeans nur abfragen, wenn jemand die Werte sieht (--metrics oder laufende JFR-Aufnahme)
+        if (enabled || event.isEnabled()) {
+            current = new Phase(name);
+            current.wall = -System.nanoTime();
+            current.cpu = -os.getProcessCpuTime();
+            markAllocated();
+            current.gcCount = -gcCount();
+        }
+        event.begin();
+    }
+
+    /**
+     * Beendet die laufende Phase.
+     */
+    public void finish() {
+        if (event == null) return;
+        event.end();
+        if (current != null) {
+            current.wall += System.nanoTime();
+            current.cpu += os.getProcessCpuTime();
+            current.allocated = allocatedSinceMark();
+            current.gcCount += gcCount();
+            event.cpuTime = current.cpu;
+            event.allocated = current.allocated;
+            if (enabled) phases.add(current);
+        }
+        if (event.shouldCommit()) event.commit();
+        current = null;
+        event = null;
+    }
+
+    private void markAllocated() {
+        allocatedAtStart.clear();
+        EXITED.clear();
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) allocatedAtStart.put(ids[i], bytes[i]);
+        }
+    }
+
+    // Zuwachs aller lebenden und der inzwischen beendeten Pool-Threads; neue Threads zählen ganz
+    private long allocatedSinceMark() {
+        long sum = 0;
+        Set<Long> exited = new HashSet<>();
+        for (long[] e : EXITED) {
+            if (!exited.add(e[0]) || e[1] < 0) continue;
+            sum += Math.max(0, e[1] - allocatedAtStart.getOrDefault(e[0], 0L));
+        }
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            // Ein gemeldeter Thread kann kurz noch als lebend erscheinen und zählt nur einmal
+            if (bytes[i] < 0 || exited.contains(ids[i])) continue;
+            sum += Math.max(0, bytes[i] - allocatedAtStart.getOrDefault(ids[i], 0L));
+        }
+        return sum;
+    }
+
+    private static long gcCount() {
+        long n = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) n += Math.max(0, gc.getCollectionCount());
+        return n;
+    }
+
+    /** @return Die abgeschlossenen Phasen in Reihenfolge */
+    public List<Phase> phases() {
+        return phases;
+    }
+
+    /**
+     * Gibt die Phasen als Tabelle aus (mit Summenzeile).
+     * @param out Ziel, z. B. System.err, damit die normale Ausgabe unverändert bleibt
+     */
+    public void printTable(PrintStream out) {
+        if (!enabled) return;
+        out.printf(Locale.ROOT, "%n-- Metriken pro Phase --%n");
+        out.printf(Locale.ROOT, "%-16s | %9s | %9s | %11s | %3s%n", "Phase", "Wand (ms)", "CPU (ms)", "Alloz. (MB)", "GC");
+        long wall = 0, cpu = 0, allocated = 0, gc = 0;
+        for (Phase p : phases) {
+            out.printf(Locale.ROOT, "%-16s | %9.1f | %9.1f | %11.2f | %3d%n",
+                    p.name, p.wall / 1e6, p.cpu / 1e6, p.allocated / 1048576.0, p.gcCount);
+            wall += p.wall;
+            cpu += p.cpu;
+            allocated += p.allocated;
+            gc += p.gcCount;
+        }
+        out.printf(Locale.ROOT, "%-16s | %9.1f | %9.1f | %11.2f | %3d%n",
+                "Total", wall / 1e6, cpu / 1e6, allocated / 1048576.0, gc);
+    }
+
+    /**
+     * Schreibt die Phasen als JSON-Datei.
+     * @param path Zieldatei
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann
+     */
+    public void writeJson(Path path) throws IOException {
+        if (!enabled) return;
+        StringBuilder sb = new StringBuilder("{\"phases\":[");
+        for (int i = 0; i < phases.size(); i++) {
+            Phase p = phases.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("\n  {\"name\":\"").append(p.name.replace("\\", "\\\\").replace("\"", "\\\""))
+                    .append("\",\"wallNanos\":").append(p.wall)
+                    .append(",\"cpuNanos\":").append(p.cpu)
+                    .append(",\"allocatedBytes\":").append(p.allocated)
+                    .append(",\"gcCount\":").append(p.gcCount).append('}');
+        }
+        sb.append("\n]}\n");
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Messwerte einer Phase.
+     */
+    public static class Phase {
+        public final String name;
+        long wall;
+        long cpu;
+        long allocated;
+        long gcCount;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        /** @return Wanduhrzeit in Nanosekunden */
+        public long wallNanos() { return wall; }
+
+        /** @return CPU-Zeit des Prozesses in Nanosekunden */
+        public long cpuNanos() { return cpu; }
+
+        /** @return Im Hauptthread allozierte Bytes */
+        public long allocatedBytes() { return allocated; }
+
+        /** @return Anzahl GC-Läufe während der Phase */
+        public long gcCount() { return gcCount; }
+    }
+}
@@ -0,0 +1,34 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR-Ereignis für eine Phase des Programms (z. B. Laden oder ein Abschnitt des Berichts).
+ * Wird nur aufgezeichnet, wenn eine Aufnahme läuft, z. B. mit
+ * {@code java -XX:StartFlightRecording=filename=run.jfr ...}; Dauer liefert JFR selbst.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+@Name("fussballdaten.Phase")
+@Label("Phase")
+@Category("Fussballdaten")
+@Description("Eine Phase des Programms mit CPU-Zeit und allozierten Bytes")
+public class PhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("CPU-Zeit")
+    @Timespan(Timespan.NANOSECONDS)
+    public long cpuTime;
+
+    @Label("Alloziert")
+    @DataAmount
+    public long allocated;
+}
@@ -7,8 +7,13 @@ for /r "%ROOT%src" %%f in (*.java) do (
   if not defined files set "files=%%f"
   if defined files set "files=!files! %%f"
 )
+rem Gemeinsame Klassen beider Versionen (Match, CsvUtil, Metrics usw.) liegen in shared\src;
+rem die Analysis-SPI (shared\src\analysis) braucht nur V2, V1 rechnet spaltenweise auf MatchTable
+for %%d in (model util) do (
+  for /r "%ROOT%..\shared\src\%%d" %%f in (*.java) do set "files=!files! %%f"
+)
 javac -d "%ROOT%out" -encoding UTF-8 %files%
 if errorlevel 1 exit /b %errorlevel%
 pushd "%ROOT%" >nul
-java -cp "%ROOT%out" Main
+java -cp "%ROOT%out" Main %*
 popd >nul
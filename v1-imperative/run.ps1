@@ -4,8 +4,11 @@ if (-not $root) { $root = Split-Path -Parent $MyInvocation.MyCommand.Path }
 $src = Join-Path $root 'src'
 $out = Join-Path $root 'out'
 if (!(Test-Path -LiteralPath $out)) { New-Item -ItemType Directory -Path $out | Out-Null }
-$files = Get-ChildItem -Path $src -Recurse -File -Filter *.java | ForEach-Object { $_.FullName }
+# Gemeinsame Klassen beider Versionen (Match, CsvUtil, Metrics usw.) liegen in shared/src;
+# die Analysis-SPI (shared/src/analysis) braucht nur V2, V1 rechnet spaltenweise auf MatchTable
+$shared = Join-Path $root '../shared/src'
+$files = Get-ChildItem -Path $src, (Join-Path $shared 'model'), (Join-Path $shared 'util') -Recurse -File -Filter *.java | ForEach-Object { $_.FullName }
 & javac -d $out -encoding UTF-8 @files
 if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
 Push-Location $root
-try { & java -cp $out Main } finally { Pop-Location }
+try { & java -cp $out Main @args } finally { Pop-Location }
@@ -2,6 +2,9 @@
 set -euo pipefail
 DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
 mkdir -p "$DIR/out"
-javac -d "$DIR/out" -encoding UTF-8 $(find "$DIR/src" -name "*.java")
+# Gemeinsame Klassen beider Versionen (Match, CsvUtil, Metrics usw.) liegen in shared/src;
+# die Analysis-SPI (shared/src/analysis) braucht nur V2, V1 rechnet spaltenweise auf MatchTable
+SHARED="$DIR/../shared/src"
+javac -d "$DIR/out" -encoding UTF-8 $(find "$DIR/src" "$SHARED/model" "$SHARED/util" -name "*.java")
 cd "$DIR"
-java -cp "$DIR/out" Main
+java -cp "$DIR/out" Main "$@"
@@ -0,0 +1,469 @@
+import analysis.LeagueSeason;
+import analysis.OverallStats;
+import analysis.PartitionStats;
+import analysis.Standings;
+import analysis.TopK;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.MatchTable;
+import model.MatchTime;
+import model.PlayerStat;
+import model.Snapshot;
+import util.ResultCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Server-Modus: Daten werden einmal geladen und im Speicher gehalten, die Auswertungen
+ * werden über HTTP auf localhost abgefragt (JSON). Verwendet den im JDK enthaltenen
+ * {@code com.sun.net.httpserver}, daher keine zusätzlichen Abhängigkeiten.
+ *
+ * Endpunkte (alle GET, Parameter optional; ohne Angabe gelten dieselben Werte wie im Bericht):
+ * <ul>
+ *   <li>{@code /standings?league=&season=}: Tabelle</li>
+ *   <li>{@code /goals?league=&season=}: Tore pro Team</li>
+ *   <li>{@code /scorers?league=&season=&limit=}: Top-Torschützen</li>
+ *   <li>{@code /matches?league=&season=&team=&last=}: letzte Spiele der Liga/Saison (optional eines Teams);
+ *       mit {@code from=} und/oder {@code to=} (dd/MM/yyyy [HH:mm]) stattdessen alle Spiele im Zeitraum,
+ *       dann filtern league/season/team nur, wenn sie angegeben sind</li>
+ *   <li>{@code /team?team=&league=&season=}: Tabellenzeile und Rang eines Teams</li>
+ *   <li>{@code /summary}: Durchschnittstore und Heim/Auswärts/Unentschieden über alle Spiele</li>
+ *   <li>{@code /cache}: Grösse und Zähler des Ergebnis-Caches</li>
+ * </ul>
+ *
+ * Antworten von /standings, /goals, /team, die Torschützenliste und /summary liegen in einem
+ * {@link ResultCache}; der Schlüssel enthält den Datenstand. Ändern sich Grösse oder Zeitstempel
+ * der CSV-Dateien, werden die Daten neu geladen, der Datenstand erhöht und der Cache geleert.
+ * /matches wird nicht zwischengespeichert (beliebige Zeiträume, Abfrage über den Index ist billig).
+ *
+ * Anfragen laufen auf virtuellen Threads, sofern die JVM sie anbietet (ab Java 21);
+ * sonst auf einem festen Pool, damit viele gleichzeitige Abfragen nicht je einen Thread erzeugen.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class AnalysisServer {
+
+    /** Standard-Port, falls bei --serve keiner angegeben ist */
+    public static final int DEFAULT_PORT = 8323;
+
+    /** Maximale Anzahl Ergebnisse im Cache */
+    public static final int CACHE_CAPACITY = 1024;
+
+    // Mehr Torschützen pro Liga/Saison liefert /scorers nicht
+    private static final int MAX_SCORERS = 100;
+
+    // Höchstens so oft (ms) wird geprüft, ob sich die CSV-Dateien geändert haben
+    private static final long RELOAD_CHECK_MILLIS = 1000;
+
+    private final Path matchesCsv;
+    private final Path playersCsv;
+    private final String defaultLeague;
+    private final ResultCache cache = new ResultCache(CACHE_CAPACITY);
+
+    // Aktueller Datenstand; wird beim Neuladen als Ganzes ersetzt
+    private volatile Dataset data;
+    private volatile long lastCheck;
+
+    /**
+     * @param matchesCsv Pfad zu matches.csv (für das Neuladen bei Änderungen)
+     * @param playersCsv Pfad zu players.csv
+     * @param matches Die geladenen Spiele
+     * @param players Die geladenen Spielerstatistiken
+     * @param defaultLeague Liga, wenn kein Parameter angegeben ist
+     * @throws IOException Wenn die Dateien nicht gelesen werden können
+     */
+    public AnalysisServer(Path matchesCsv, Path playersCsv, MatchTable matches, List<PlayerStat> players,
+                          String defaultLeague) throws IOException {
+        this.matchesCsv = matchesCsv;
+        this.playersCsv = playersCsv;
+        this.defaultLeague = defaultLeague;
+        this.data = new Dataset(1, stamp(), matches, players);
+        this.lastCheck = System.currentTimeMillis();
+    }
+
+    // Geladene Daten mit ihrem Datenstand (Versionsnummer für die Cache-Schlüssel)
+    private static class Dataset {
+        final long version;
+        final long stamp;
+        final MatchTable matches;
+        final List<PlayerStat> players;
+
+        Dataset(long version, long stamp, MatchTable matches, List<PlayerStat> players) {
+            this.version = version;
+            this.stamp = stamp;
+            this.matches = matches;
+            this.players = players;
+        }
+    }
+
+    // Grösse und Zeitstempel beider Dateien, zu einem Wert zusammengefasst
+    private long stamp() throws IOException {
+        long h = 17;
+        for (Path p : new Path[]{matchesCsv, playersCsv}) {
+            h = 31 * h + Files.size(p);
+            h = 31 * h + Files.getLastModifiedTime(p).toMillis();
+        }
+        return h;
+    }
+
+    // Aktuelle Daten; lädt neu, wenn sich die CSV-Dateien seit dem letzten Laden geändert haben
+    private Dataset data() {
+        long now = System.currentTimeMillis();
+        if (now - lastCheck < RELOAD_CHECK_MILLIS) return data;
+        synchronized (this) {
+            if (now - lastCheck < RELOAD_CHECK_MILLIS) return data;
+            lastCheck = now;
+            try {
+                long stamp = stamp();
+                if (stamp != data.stamp) {
+                    // Snapshot prüft selbst, ob er noch zur CSV-Datei passt; Quoten braucht der Server nicht
+                    data = new Dataset(data.version + 1, stamp, Snapshot.matches(matchesCsv, false), Snapshot.players(playersCsv));
+                    cache.clear();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return data;
+        }
+    }
+
+    private <V> V cached(String analysis, Scope s, String team, Dataset d, Supplier<V> compute) {
+        String league = s != null ? s.league : null;
+        int season = s != null ? s.season : 0;
+        return cache.get(new ResultCache.Key(analysis, league, season, team, d.version), compute);
+    }
+
+    /**
+     * Startet den Server auf localhost. Kehrt sofort zurück; der Server läuft, bis die JVM beendet wird.
+     * @param port Der Port
+     * @return Der gestartete Server
+     * @throws IOException Wenn der Port nicht geöffnet werden kann
+     */
+    public HttpServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        route(server, "/standings", this::standings);
+        route(server, "/goals", this::goals);
+        route(server, "/scorers", this::scorers);
+        route(server, "/matches", this::matches);
+        route(server, "/team", this::team);
+        route(server, "/summary", q -> summary());
+        route(server, "/cache", q -> cacheStats());
+        server.setExecutor(requestExecutor());
+        server.start();
+        return server;
+    }
+
+    // Virtuelle Threads über Reflection, damit der Code auch mit Java 17 kompiliert
+    private static ExecutorService requestExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        }
+    }
+
+    // --- Anfragen ---
+
+    private interface Endpoint {
+        String handle(Map<String, String> query);
+    }
+
+    // Fehler bei Parametern (Status 400 bzw. 404)
+    private static class QueryException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        QueryException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private static void route(HttpServer server, String path, Endpoint endpoint) {
+        server.createContext(path, exchange -> {
+            int status = 200;
+            String body;
+            try {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    throw new QueryException(405, "Nur GET wird unterstützt");
+                }
+                if (!exchange.getRequestURI().getPath().equals(path)) {
+                    throw new QueryException(404, "Unbekannter Pfad: " + exchange.getRequestURI().getPath());
+                }
+                body = endpoint.handle(parseQuery(exchange.getRequestURI().getRawQuery()));
+            } catch (QueryException e) {
+                status = e.status;
+                body = "{\"error\":" + quote(e.getMessage()) + "}";
+            } catch (RuntimeException e) {
+                status = 500;
+                body = "{\"error\":" + quote(String.valueOf(e)) + "}";
+            }
+            send(exchange, status, body);
+        });
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String raw) {
+        Map<String, String> query = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return query;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    // Liga/Saison aus den Parametern, sonst wie im Bericht (Standardliga, neueste Saison)
+    private Scope scope(MatchTable matches, Map<String, String> q) {
+        String league = q.getOrDefault("league", defaultLeague);
+        int leagueId = matches.leagues().find(league);
+        if (leagueId < 0) throw new QueryException(404, "Unbekannte Liga: " + league);
+        int season = q.containsKey("season") ? intParam(q, "season", 0) : matches.index().latestSeason(leagueId);
+        return new Scope(league, leagueId, season);
+    }
+
+    private static class Scope {
+        final String league;
+        final int leagueId;
+        final int season;
+
+        Scope(String league, int leagueId, int season) {
+            this.league = league;
+            this.leagueId = leagueId;
+            this.season = season;
+        }
+
+        PartitionStats partitions(MatchTable matches) {
+            return Main.seasonStats(matches, Main.filterSeason(matches, leagueId, season));
+        }
+
+        // Kennzahlen der Partition (leer, falls es keine Spiele dazu gibt)
+        PartitionStats.Partition stats(PartitionStats partitions) {
+            PartitionStats.Partition p = partitions.get(leagueId, season);
+            return p != null ? p : PartitionStats.Partition.empty(leagueId, season);
+        }
+
+        PartitionStats.Partition stats(MatchTable matches) {
+            return stats(partitions(matches));
+        }
+    }
+
+    private static int intParam(Map<String, String> q, String name, int fallback) {
+        String v = q.get(name);
+        if (v == null || v.isEmpty()) return fallback;
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            throw new QueryException(400, "Keine Zahl: " + name + "=" + v);
+        }
+    }
+
+    private String standings(Map<String, String> q) {
+        Dataset d = data();
+        Scope s = scope(d.matches, q);
+        return cached("standings", s, null, d, () -> {
+            Standings table = Main.table(d.matches, s.stats(d.matches));
+            StringBuilder sb = head(s).append(",\"table\":[");
+            int rank = 0;
+            for (Standings.Entry e : table.ranking()) {
+                if (rank > 0) sb.append(',');
+                entry(sb.append("{\"rank\":").append(++rank).append(','), e).append('}');
+            }
+            return sb.append("]}").toString();
+        });
+    }
+
+    private String goals(Map<String, String> q) {
+        Dataset d = data();
+        Scope s = scope(d.matches, q);
+        return cached("goals", s, null, d, () -> {
+            List<Map.Entry<String, Integer>> list = new ArrayList<>(Main.goalsPerTeam(d.matches, s.stats(d.matches)).entrySet());
+            list.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+            StringBuilder sb = head(s).append(",\"goals\":[");
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) sb.append(',');
+                sb.append("{\"team\":").append(quote(list.get(i).getKey()))
+                        .append(",\"goals\":").append(list.get(i).getValue()).append('}');
+            }
+            return sb.append("]}").toString();
+        });
+    }
+
+    private String scorers(Map<String, String> q) {
+        Dataset d = data();
+        Scope s = scope(d.matches, q);
+        int limit = Math.max(0, Math.min(MAX_SCORERS, intParam(q, "limit", 5)));
+        // Ein Eintrag für alle Ligen/Saisons (ein Durchlauf über die Spieler), die Grenze gilt erst bei der Ausgabe
+        Map<LeagueSeason, List<PlayerStat>> scorers = cached("scorers", null, null, d,
+                () -> TopK.perPartition(d.players, p -> new LeagueSeason(p.league, p.season),
+                        MAX_SCORERS, Comparator.comparingInt((PlayerStat p) -> p.goals)));
+        List<PlayerStat> top = scorers.getOrDefault(new LeagueSeason(s.league, s.season), List.of());
+        StringBuilder sb = head(s).append(",\"scorers\":[");
+        for (int i = 0; i < Math.min(limit, top.size()); i++) {
+            PlayerStat p = top.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"rank\":").append(i + 1)
+                    .append(",\"player\":").append(quote(p.player))
+                    .append(",\"team\":").append(quote(p.team))
+                    .append(",\"goals\":").append(p.goals).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private String matches(Map<String, String> q) {
+        MatchTable matches = data().matches;
+        int team = -1;
+        if (q.containsKey("team")) {
+            team = matches.teams().find(q.get("team"));
+            if (team < 0) throw new QueryException(404, "Unbekanntes Team: " + q.get("team"));
+        }
+        int last = Math.max(0, intParam(q, "last", 10));
+        int[] rows;
+        if (q.containsKey("from") || q.containsKey("to")) {
+            // Zeitraum über den Zeitindex; Liga/Saison nur, wenn angegeben
+            int from = q.containsKey("from") ? timeParam(q, "from") : Integer.MIN_VALUE + 1;
+            int to = q.containsKey("to") ? timeParam(q, "to") : Integer.MAX_VALUE;
+            int leagueId = -1;
+            if (q.containsKey("league")) {
+                leagueId = matches.leagues().find(q.get("league"));
+                if (leagueId < 0) throw new QueryException(404, "Unbekannte Liga: " + q.get("league"));
+            }
+            int season = intParam(q, "season", 0);
+            rows = filter(matches, matches.index().between(from, to), leagueId, season, team, Integer.MAX_VALUE);
+        } else {
+            Scope s = scope(matches, q);
+            rows = filter(matches, Main.filterSeason(matches, s.leagueId, s.season), -1, 0, team, last);
+        }
+        StringBuilder sb = new StringBuilder("{\"matches\":[");
+        for (int k = 0; k < rows.length; k++) {
+            int i = rows[k];
+            if (k > 0) sb.append(',');
+            sb.append("{\"kickoff\":").append(quote(MatchTime.format(matches.kickoff(i))))
+                    .append(",\"league\":").append(quote(matches.leagueName(matches.league(i))))
+                    .append(",\"season\":").append(matches.season(i))
+                    .append(",\"home\":").append(quote(matches.teamName(matches.homeTeam(i))))
+                    .append(",\"away\":").append(quote(matches.teamName(matches.awayTeam(i))))
+                    .append(",\"homeGoals\":").append(matches.homeGoals(i))
+                    .append(",\"awayGoals\":").append(matches.awayGoals(i)).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static int timeParam(Map<String, String> q, String name) {
+        int t = MatchTime.parse(q.get(name));
+        if (t == MatchTime.MISSING) throw new QueryException(400, "Ungültiges Datum: " + name + "=" + q.get(name));
+        return t;
+    }
+
+    // Behält die letzten max Zeilen, die zu Liga (-1 = alle), Saison (0 = alle) und Team (-1 = alle) passen
+    private static int[] filter(MatchTable matches, int[] rows, int leagueId, int season, int team, int max) {
+        int[] out = new int[Math.min(rows.length, max)];
+        int n = 0;
+        for (int k = rows.length - 1; k >= 0 && n < out.length; k--) {
+            int i = rows[k];
+            if (leagueId >= 0 && matches.league(i) != leagueId) continue;
+            if (season != 0 && matches.season(i) != season) continue;
+            if (team >= 0 && matches.homeTeam(i) != team && matches.awayTeam(i) != team) continue;
+            out[out.length - 1 - n++] = i;
+        }
+        int[] result = new int[n];
+        System.arraycopy(out, out.length - n, result, 0, n);
+        return result;
+    }
+
+    private String team(Map<String, String> q) {
+        Dataset d = data();
+        Scope s = scope(d.matches, q);
+        String team = q.containsKey("team") ? q.get("team")
+                : cached("inferTeam", s, null, d, () -> Main.inferTeam(d.matches, s.partitions(d.matches), s.leagueId, s.season));
+        String body = cached("team", s, team, d, () -> {
+            Standings table = Main.table(d.matches, s.stats(d.matches));
+            Standings.Entry e = table.get(team);
+            // Kein Team -> leerer Text im Cache (null darf nicht gespeichert werden)
+            if (e == null) return "";
+            StringBuilder sb = head(s).append(",\"rank\":").append(table.rank(team)).append(',');
+            return entry(sb, e).append('}').toString();
+        });
+        if (body.isEmpty()) throw new QueryException(404, "Keine Spiele von " + team + " in " + s.league + " " + s.season);
+        return body;
+    }
+
+    private String summary() {
+        Dataset d = data();
+        return cached("summary", null, null, d, () -> {
+            OverallStats overall = Main.overall(d.matches);
+            return String.format(Locale.ROOT,
+                    "{\"matches\":%d,\"averageGoals\":%.3f,\"homeWins\":%d,\"awayWins\":%d,\"draws\":%d}",
+                    overall.matches(), overall.averageGoals(), overall.homeWins(), overall.awayWins(), overall.draws());
+        });
+    }
+
+    private String cacheStats() {
+        return "{\"dataVersion\":" + data().version
+                + ",\"entries\":" + cache.size()
+                + ",\"capacity\":" + cache.capacity()
+                + ",\"hits\":" + cache.hits()
+                + ",\"misses\":" + cache.misses()
+                + ",\"evictions\":" + cache.evictions() + "}";
+    }
+
+    // --- JSON ---
+
+    private static StringBuilder head(Scope s) {
+        return new StringBuilder("{\"league\":").append(quote(s.league)).append(",\"season\":").append(s.season);
+    }
+
+    private static StringBuilder entry(StringBuilder sb, Standings.Entry e) {
+        return sb.append("\"team\":").append(quote(e.team))
+                .append(",\"played\":").append(e.played())
+                .append(",\"wins\":").append(e.wins())
+                .append(",\"draws\":").append(e.draws())
+                .append(",\"losses\":").append(e.losses())
+                .append(",\"goalsFor\":").append(e.goalsFor())
+                .append(",\"goalsAgainst\":").append(e.goalsAgainst())
+                .append(",\"goalDiff\":").append(e.goalDiff())
+                .append(",\"points\":").append(e.points());
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,208 @@
+import analysis.FusedScan;
+import analysis.OverallStats;
+import analysis.PartitionStats;
+import analysis.Standings;
+import model.MatchIndex;
+import model.MatchTable;
+import util.Metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk-Modus ({@code --bulk}): Tabelle, Tore pro Team und Heim/Auswärts/Unentschieden
+ * für jede Liga/Saison im Datensatz statt nur für die eine gewählte.
+ *
+ * Mit {@code --matches} kommen die Spiele als eine Tabelle pro Partition aus dem
+ * {@link model.MatchStore}; sie werden nicht zu einer Gesamttabelle zusammengefügt.
+ *
+ * Jede Partition wird als eigene Aufgabe auf einem Threadpool ausgewertet (ein Durchlauf
+ * über ihre Zeilen aus dem Index) und als Text vorbereitet. Der Hauptthread schreibt die
+ * Texte in fester Reihenfolge (Liga, dann Saison) in einen einzigen grossen Writer, sodass
+ * die Ausgabe unabhängig von der Anzahl Threads immer gleich ist.
+ *
+ * Formate: {@code text} (Tabellen wie im Bericht) oder {@code csv} (eine Zeile pro Team und Partition).
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class BulkReport {
+
+    /** Spaltenköpfe im CSV-Format */
+    public static final String CSV_HEADER = "league,season,rank,team,played,wins,draws,losses,"
+            + "goals_for,goals_against,goal_diff,points,season_matches,season_home_wins,season_away_wins,season_draws";
+
+    private final List<MatchTable> tables;
+    private final boolean csv;
+
+    /**
+     * @param matches Die geladenen Spiele
+     * @param format "text" oder "csv"
+     */
+    public BulkReport(MatchTable matches, String format) {
+        this(List.of(matches), format);
+    }
+
+    /**
+     * @param tables Die geladenen Spiele, verteilt auf mehrere Tabellen (z. B. eine pro Partition)
+     * @param format "text" oder "csv"
+     */
+    public BulkReport(List<MatchTable> tables, String format) {
+        if (!format.equals("text") && !format.equals("csv")) {
+            throw new IllegalArgumentException("Unbekanntes Format für --bulk: " + format + " (text oder csv)");
+        }
+        this.tables = tables;
+        this.csv = format.equals("csv");
+    }
+
+    /**
+     * Wertet alle Partitionen parallel aus und schreibt sie der Reihe nach.
+     * @param out Ziel (wird nicht geschlossen, aber am Ende geleert)
+     * @param threads Anzahl Worker
+     * @throws IOException Wenn nicht geschrieben werden kann
+     */
+    public void write(Writer out, int threads) throws IOException {
+        List<Part> order = sortedPartitions();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), Metrics.threadFactory());
+        try {
+            List<Future<String>> parts = new ArrayList<>(order.size());
+            for (Part p : order) parts.add(pool.submit(() -> render(p)));
+            if (csv) out.write(CSV_HEADER + "\n");
+            for (Future<String> part : parts) out.write(part.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bulk-Auswertung unterbrochen", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Bulk-Auswertung fehlgeschlagen", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        out.flush();
+    }
+
+    // Eine Partition des Index einer der Tabellen
+    private static class Part {
+        final MatchTable matches;
+        final int p;
+        final String league;
+        final int season;
+
+        Part(MatchTable matches, int p) {
+            this.matches = matches;
+            this.p = p;
+            this.league = matches.leagueName(matches.index().partitionLeague(p));
+            this.season = matches.index().partitionSeason(p);
+        }
+    }
+
+    // Partitionen aller Tabellen nach Liga-Name, dann Saison (Insertion Sort: wenige hundert Einträge)
+    private List<Part> sortedPartitions() {
+        List<Part> order = new ArrayList<>();
+        for (MatchTable matches : tables) {
+            MatchIndex index = matches.index();
+            for (int p = 0; p < index.partitionCount(); p++) {
+                Part part = new Part(matches, p);
+                int k = order.size();
+                order.add(part);
+                while (k > 0 && compare(order.get(k - 1), part) > 0) {
+                    order.set(k, order.get(k - 1));
+                    k--;
+                }
+                order.set(k, part);
+            }
+        }
+        return order;
+    }
+
+    private static int compare(Part p, Part q) {
+        int c = p.league.compareTo(q.league);
+        return c != 0 ? c : Integer.compare(p.season, q.season);
+    }
+
+    // Ein Durchlauf über die Zeilen der Partition: Team-Werte und Ausgänge zusammen
+    private String render(Part part) {
+        MatchTable matches = part.matches;
+        MatchIndex index = matches.index();
+        int leagueId = index.partitionLeague(part.p);
+        PartitionStats partitions = new PartitionStats(0);
+        OverallStats outcomes = new OverallStats();
+        new FusedScan().add(partitions).add(outcomes).run(matches, index.partitionRows(part.p));
+        PartitionStats.Partition scope = partitions.get(leagueId, part.season);
+        Standings table = Main.table(matches, scope);
+        return csv ? csv(part.league, part.season, table, outcomes)
+                : text(matches, part.league, part.season, scope, table, outcomes);
+    }
+
+    private String text(MatchTable matches, String league, int season, PartitionStats.Partition scope,
+                        Standings table, OverallStats o) {
+        Formatter f = new Formatter(new StringBuilder(4096), Locale.ROOT);
+        long total = o.matches();
+        f.format("=== %s %d ===%n", league, season);
+        f.format("Spiele: %d | Heimsiege: %d (%.0f%%) | Auswärtssiege: %d (%.0f%%) | Unentschieden: %d (%.0f%%)%n",
+                total, o.homeWins(), percent(o.homeWins(), total), o.awayWins(), percent(o.awayWins(), total),
+                o.draws(), percent(o.draws(), total));
+        f.format("%n-- Tabelle (W/D/L/GF/GA/GD/Pkt) --%n");
+        f.format("%-14s | %2s %2s %2s | %3s %3s %3s | %3s%n", "Team", "W", "D", "L", "GF", "GA", "GD", "Pkt");
+        for (Standings.Entry r : table.ranking()) {
+            f.format("%-14s | %2d %2d %2d | %3d %3d %3d | %3d%n",
+                    r.team, r.wins(), r.draws(), r.losses(), r.goalsFor(), r.goalsAgainst(), r.goalDiff(), r.points());
+        }
+        f.format("%n-- Tore pro Team --%n");
+        for (int t : teamsByGoals(matches, scope)) {
+            f.format("%-14s | %3d Tore%n", matches.teamName(t), scope.goalsFor(t));
+        }
+        f.format("%n");
+        return f.toString();
+    }
+
+    private String csv(String league, int season, Standings table, OverallStats o) {
+        StringBuilder sb = new StringBuilder(4096);
+        String partition = quote(league) + "," + season + ",";
+        String outcomes = "," + o.matches() + "," + o.homeWins() + "," + o.awayWins() + "," + o.draws() + "\n";
+        int rank = 0;
+        for (Standings.Entry r : table.ranking()) {
+            sb.append(partition).append(++rank).append(',').append(quote(r.team))
+                    .append(',').append(r.played()).append(',').append(r.wins())
+                    .append(',').append(r.draws()).append(',').append(r.losses())
+                    .append(',').append(r.goalsFor()).append(',').append(r.goalsAgainst())
+                    .append(',').append(r.goalDiff()).append(',').append(r.points())
+                    .append(outcomes);
+        }
+        return sb.toString();
+    }
+
+    // Team-Ids nach Toren absteigend, bei Gleichstand nach Name (feste Reihenfolge, unabhängig von HashMaps)
+    private static int[] teamsByGoals(MatchTable matches, PartitionStats.Partition scope) {
+        int[] teams = new int[scope.teamCount()];
+        for (int k = 0; k < teams.length; k++) {
+            int t = scope.team(k);
+            int i = k;
+            while (i > 0 && (scope.goalsFor(teams[i - 1]) < scope.goalsFor(t)
+                    || scope.goalsFor(teams[i - 1]) == scope.goalsFor(t)
+                    && matches.teamName(teams[i - 1]).compareTo(matches.teamName(t)) > 0)) {
+                teams[i] = teams[i - 1];
+                i--;
+            }
+            teams[i] = t;
+        }
+        return teams;
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+
+    // CSV-Feld in Anführungszeichen, falls es Komma oder Anführungszeichen enthält
+    private static String quote(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) return s;
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+}
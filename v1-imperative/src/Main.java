@@ -1,8 +1,30 @@
+import analysis.EloRatings;
+import analysis.FormTracker;
+import analysis.FusedScan;
+import analysis.OddsStats;
+import analysis.LeagueSeason;
+import analysis.OverallStats;
+import analysis.PartitionStats;
+import analysis.PlayerJoin;
+import analysis.Standings;
+import analysis.TopK;
 import model.Match;
+import model.MatchIndex;
+import model.MatchStore;
+import model.MatchTable;
 import model.PlayerStat;
-import util.CsvUtil;
+import model.Snapshot;
+import util.CompressedInput;
+import util.CsvTail;
+import util.Metrics;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -26,68 +48,186 @@ public class Main {
      * Startpunkt des Programms.
      * Liest CSV-Dateien ein und führt alle Analysen aus.
      *
-     * @param args keine Kommandozeilenparameter nötig
+     * @param args optional "--follow": danach neue Resultate in matches.csv laufend in die Tabelle einrechnen;
+     *             optional "--data=&lt;ordner&gt;": CSV-Dateien aus diesem Ordner statt aus data/ lesen;
+     *             optional "--matches=&lt;ordner|glob&gt;": Spiele aus allen passenden Dateien parallel laden;
+     *             optional "--odds": zusätzlich die Auswertung der Wettquoten ausgeben;
+     *             optional "--elo[=k[,heimvorteil]]": zusätzlich die Elo-Wertung der Teams ausgeben;
+     *             optional "--form[=n]": zusätzlich die Form der Teams über ihre letzten n Spiele ausgeben;
+     *             optional "--players": zusätzlich Spieler mit den Team-Werten aus den Spielen verknüpfen;
+     *             optional "--metrics[=datei.json]": Zeit, CPU und Allokation pro Phase auf stderr bzw. als JSON ausgeben;
+     *             optional "--serve[=port]": statt des Berichts die Auswertungen per HTTP anbieten;
+     *             optional "--bulk[=text|csv]": statt des Berichts alle Ligen/Saisons auswerten
      * @throws IOException falls CSV-Dateien nicht gelesen werden können
      */
     public static void main(String[] args) throws IOException {
-        // Basisverzeichnis und Datenpfade
-        String baseDir = Paths.get(".").toAbsolutePath().normalize().toString();
-        String matchesPath = Paths.get("data", "matches.csv").toString();
-        String playersPath = Paths.get("data", "players.csv").toString();
+        // Datenpfade (Standard: data/, mit --data=<ordner> z. B. für generierte Datensätze)
+        String dataDir = "data";
+        for (String arg : args) {
+            if (arg.startsWith("--data=")) dataDir = arg.substring("--data=".length());
+        }
+        String matchesPath = dataFile(dataDir, "matches.csv").toString();
+        String playersPath = dataFile(dataDir, "players.csv").toString();
+
+        // Spiele aus vielen Dateien (--matches=<ordner|glob>) statt aus einer einzelnen matches.csv
+        String matchesSpec = null;
+        for (String arg : args) {
+            if (arg.startsWith("--matches=")) matchesSpec = arg.substring("--matches=".length());
+        }
 
-        // Spiele laden
-        List<Match> matches = new ArrayList<>();
-        for (String[] row : CsvUtil.readCsv(matchesPath)) {
-            matches.add(Match.fromCsv(row));
+        // Messung pro Phase (--metrics: Tabelle auf stderr, --metrics=<datei>: JSON)
+        String metricsTarget = null;
+        for (String arg : args) {
+            if (arg.equals("--metrics")) metricsTarget = "";
+            else if (arg.startsWith("--metrics=")) metricsTarget = arg.substring("--metrics=".length());
+        }
+        Metrics metrics = metricsTarget != null ? Metrics.enabled() : Metrics.disabled();
+
+        // --elo, --form und --serve vorab prüfen, damit ein Tippfehler nicht erst nach Laden und Bericht auffällt
+        double[] eloOptions = null;
+        for (String arg : args) {
+            if (arg.equals("--elo") || arg.startsWith("--elo=")) {
+                eloOptions = parseElo(arg);
+                if (eloOptions == null) {
+                    System.err.println("Ungültige Option " + arg + " (erwartet --elo[=k[,heimvorteil]] mit k > 0, z. B. --elo=20,100)");
+                    System.exit(2);
+                }
+            }
+        }
+        int formWindow = 0;
+        for (String arg : args) {
+            if (arg.equals("--form") || arg.startsWith("--form=")) {
+                formWindow = parseForm(arg);
+                if (formWindow == 0) {
+                    System.err.println("Ungültige Option " + arg + " (erwartet --form[=n] mit n von 1 bis "
+                            + FormTracker.MAX_WINDOW + ", z. B. --form=5)");
+                    System.exit(2);
+                }
+            }
+        }
+        int servePort = -1;
+        for (String arg : args) {
+            if (arg.equals("--serve") || arg.startsWith("--serve=")) {
+                servePort = parseServe(arg);
+                if (servePort < 0) {
+                    System.err.println("Ungültige Option " + arg + " (erwartet --serve[=port] mit port von 0 bis 65535, z. B. --serve="
+                            + AnalysisServer.DEFAULT_PORT + ")");
+                    System.exit(2);
+                }
+                if (matchesSpec != null) {
+                    // Der Server lädt geänderte Dateien neu und kennt dafür nur eine einzelne matches.csv
+                    System.err.println("--serve geht nur mit einer einzelnen matches.csv (ohne --matches)");
+                    System.exit(2);
+                }
+            }
+        }
+
+        // Spiele spaltenweise laden (aus dem Snapshot oder beim ersten Lauf aus der CSV-Datei);
+        // die Quotenspalten werden nur gelesen, wenn sie mit --odds gebraucht werden
+        metrics.phase("load matches");
+        boolean withOdds = Arrays.asList(args).contains("--odds");
+        boolean follow = Arrays.asList(args).contains("--follow")
+                && matchesSpec == null && !CompressedInput.isGzip(Paths.get(matchesPath));
+        long loadedEnd = 0;
+        MatchStore store = null;
+        MatchTable matches = null;
+        if (matchesSpec != null) {
+            // Eine Aufgabe pro Datei, Partitionen nach Liga/Saison; zusammengefügt wird nur, wenn
+            // eine Auswertung alle Spiele in einer Tabelle braucht (siehe unten)
+            store = MatchStore.load(MatchStore.files(matchesSpec), Runtime.getRuntime().availableProcessors(), withOdds);
+        } else if (follow) {
+            // Nur bis zur letzten vollständigen Zeile laden; alles danach (auch während des Berichts
+            // angehängte Zeilen) liest --follow ab genau dieser Position
+            loadedEnd = CsvTail.completeLinesEnd(Paths.get(matchesPath));
+            matches = Snapshot.matches(Paths.get(matchesPath), withOdds, loadedEnd);
+        } else {
+            matches = Snapshot.matches(Paths.get(matchesPath), withOdds);
         }
 
         // Spielerstatistiken laden
-        List<PlayerStat> players = new ArrayList<>();
-        for (String[] row : CsvUtil.readCsv(playersPath)) {
-            players.add(PlayerStat.fromCsv(row));
+        metrics.phase("load players");
+        List<PlayerStat> players = Snapshot.players(Paths.get(playersPath));
+
+        // Bulk-Modus: alle Partitionen parallel, Ausgabe über einen einzigen gepufferten Writer
+        for (String arg : args) {
+            if (arg.equals("--bulk") || arg.startsWith("--bulk=")) {
+                String format = arg.equals("--bulk") ? "text" : arg.substring("--bulk=".length());
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 20);
+                metrics.phase("bulk");
+                BulkReport bulk = store != null ? new BulkReport(store.tables(), format) : new BulkReport(matches, format);
+                bulk.write(out, Runtime.getRuntime().availableProcessors());
+                reportMetrics(metrics, metricsTarget);
+                return;
+            }
+        }
+
+        // Liga und Saison direkt aus dem Index bestimmen (kein Durchlauf über die Zeilen);
+        // mit --matches aus den Partitionsschlüsseln, die Saison-Abschnitte lesen dann nur deren Partition
+        metrics.phase("infer");
+        String league;
+        int season;
+        MatchTable seasonMatches;
+        if (store != null) {
+            league = inferLeague(store);
+            season = store.latestSeason(league);
+            seasonMatches = store.partition(league, season);
+            if (seasonMatches == null) seasonMatches = new MatchTable.Builder().build();
+        } else {
+            MatchIndex index = matches.index();
+            league = inferLeague(matches, index);
+            season = index.latestSeason(matches.leagues().find(league));
+            seasonMatches = matches;
         }
+        int leagueId = seasonMatches.leagues().find(league);
 
-        // Beispielwerte für Analyse
-        String league = inferLeague(matches);
-        int season = inferLatestSeason(matches, league);
-        String team = inferTeam(matches, league, season);
+        // Server-Modus: Daten bleiben geladen, Abfragen kommen per HTTP
+        if (servePort >= 0) {
+            // Port 0: das System wählt einen freien Port, ausgegeben wird der tatsächliche
+            int port = new AnalysisServer(Paths.get(matchesPath), Paths.get(playersPath), matches, players, league)
+                    .start(servePort).getAddress().getPort();
+            System.out.println("Server läuft auf http://localhost:" + port + "/ (Abbruch mit Ctrl+C)");
+            reportMetrics(metrics, metricsTarget);
+            return;
+        }
+
+        // Saison-Abschnitte laufen nur über die Zeilen der gewählten Liga/Saison,
+        // die Gesamtwerte (Durchschnitt, Heim/Auswärts) in einem Durchlauf über alle Spiele
+        // (mit --matches Partition für Partition)
+        metrics.phase("scan");
+        PartitionStats partitions = seasonStats(seasonMatches, filterSeason(seasonMatches, leagueId, season));
+        OverallStats overall = store != null ? overall(store) : overall(matches);
+        String team = inferTeam(seasonMatches, partitions, leagueId, season);
+        PartitionStats.Partition scope = partitions.get(leagueId, season);
+        if (scope == null) scope = PartitionStats.Partition.empty(leagueId, season);
 
         System.out.println("=== Fussballdaten Analyse ===\n");
 
         // --- Filter: nur Spiele der Liga/Saison ---
+        metrics.phase("filter");
         System.out.println("-- Filter: Spiele " + league + " " + season + " (letzte 10) --");
-        List<Match> filtered = new ArrayList<>();
-        for (Match m : matches) {
-            if (m.league.equals(league) && m.season == season) {
-                filtered.add(m);
-            }
-        }
-        int startIdx = Math.max(0, filtered.size() - 10);
-        List<Match> last = filtered.subList(startIdx, filtered.size());
-        for (Match m : last) {
+        int[] last = scope.lastRows();
+        for (int i : last) {
             System.out.printf(Locale.ROOT, "%s | %s vs %s | %d:%d%n",
-                    m.date, m.homeTeam, m.awayTeam, m.homeGoals, m.awayGoals);
+                    seasonMatches.date(i), seasonMatches.teamName(seasonMatches.homeTeam(i)), seasonMatches.teamName(seasonMatches.awayTeam(i)),
+                    seasonMatches.homeGoals(i), seasonMatches.awayGoals(i));
         }
         System.out.println();
 
         // --- Map: Tordifferenz je Spiel ---
+        metrics.phase("goalDiff");
         System.out.println("-- Map: Tordifferenz pro Spiel Super League 2025 (letzte 10) --");
-        int startIdxMap = Math.max(0, filtered.size() - 10);
-        List<Match> lastMap = filtered.subList(startIdxMap, filtered.size());
-        for (Match m : lastMap) {
-            int diff = m.homeGoals - m.awayGoals;
-            System.out.printf(Locale.ROOT, "%s - %s | Diff: %d%n", m.homeTeam, m.awayTeam, diff);
+        int[] diffs = goalDiffs(seasonMatches, last);
+        for (int k = 0; k < last.length; k++) {
+            int i = last[k];
+            System.out.printf(Locale.ROOT, "%s - %s | Diff: %d%n",
+                    seasonMatches.teamName(seasonMatches.homeTeam(i)), seasonMatches.teamName(seasonMatches.awayTeam(i)), diffs[k]);
         }
         System.out.println();
 
         // --- Reduce: Gesamttore pro Team (alle) ---
+        metrics.phase("goalsPerTeam");
         System.out.println("-- Reduce: Gesamttore pro Team (" + league + " " + season + ") --");
-        Map<String,Integer> goalsFor = new HashMap<>();
-        for (Match m : filtered) {
-            goalsFor.merge(m.homeTeam, m.homeGoals, Integer::sum);
-            goalsFor.merge(m.awayTeam, m.awayGoals, Integer::sum);
-        }
-        List<Map.Entry<String,Integer>> goalsList = new ArrayList<>(goalsFor.entrySet());
+        List<Map.Entry<String,Integer>> goalsList = new ArrayList<>(goalsPerTeam(seasonMatches, scope).entrySet());
         goalsList.sort((a,b) -> Integer.compare(b.getValue(), a.getValue()));
         for (Map.Entry<String,Integer> e : goalsList) {
             System.out.printf(Locale.ROOT, "%-14s | %3d Tore%n", e.getKey(), e.getValue());
@@ -95,70 +235,34 @@ public class Main {
         System.out.println();
 
         // --- Top-Scorer-Liste ---
+        metrics.phase("topScorers");
         System.out.println("-- Top 5 Torschützen (" + league + " " + season + ") --");
-        List<PlayerStat> scoped = new ArrayList<>();
-        for (PlayerStat p : players) {
-            if (p.league.equals(league) && p.season == season) scoped.add(p);
-        }
-        scoped.sort((a, b) -> Integer.compare(b.goals, a.goals));
-        int limit = Math.min(5, scoped.size());
-        for (int i = 0; i < limit; i++) {
-            PlayerStat p = scoped.get(i);
+        List<PlayerStat> top = topScorers(players, league, season, 5);
+        for (int i = 0; i < top.size(); i++) {
+            PlayerStat p = top.get(i);
             System.out.printf(Locale.ROOT, "%d. %s | %d Tore (%s)%n",
                     i + 1, p.player, p.goals, p.team);
         }
         System.out.println();
 
         // --- Reduce: Durchschnittstore pro Spiel ---
+        metrics.phase("averageGoals");
         System.out.println("-- Reduce: Durchschnittstore pro Spiel --");
-        int goalsSum = 0;
-        for (Match m : matches) goalsSum += (m.homeGoals + m.awayGoals);
-        double avgGoals = matches.isEmpty() ? 0.0 : (goalsSum * 1.0) / matches.size();
-        System.out.printf(Locale.ROOT, "%.1f Tore%n%n", avgGoals);
+        System.out.printf(Locale.ROOT, "%.1f Tore%n%n", overall.averageGoals());
 
         // --- Vergleich: Team-Statistiken (alle Teams) ---
+        metrics.phase("table");
         System.out.println("-- Vergleich: Team-Statistiken (W/D/L/GF/GA/GD/Pkt) --");
-        class Agg { int w,d,l,gf,ga; }
-        Map<String, Agg> table = new HashMap<>();
-        for (Match m : filtered) {
-            // home
-            Agg ah = table.computeIfAbsent(m.homeTeam, k -> new Agg());
-            ah.gf += m.homeGoals; ah.ga += m.awayGoals;
-            if (m.homeGoals > m.awayGoals) ah.w++; else if (m.homeGoals == m.awayGoals) ah.d++; else ah.l++;
-            // away
-            Agg aa = table.computeIfAbsent(m.awayTeam, k -> new Agg());
-            aa.gf += m.awayGoals; aa.ga += m.homeGoals;
-            if (m.awayGoals > m.homeGoals) aa.w++; else if (m.awayGoals == m.homeGoals) aa.d++; else aa.l++;
-        }
-        class Row { String team; int w,d,l,gf,ga,gd,pts; Row(String t,int w,int d,int l,int gf,int ga){team=t;this.w=w;this.d=d;this.l=l;this.gf=gf;this.ga=ga;this.gd=gf-ga;this.pts=w*3+d;} }
-        List<Row> rows = new ArrayList<>();
-        for (Map.Entry<String,Agg> e : table.entrySet()) {
-            Agg a = e.getValue(); rows.add(new Row(e.getKey(), a.w,a.d,a.l,a.gf,a.ga));
-        }
-        rows.sort((r1,r2) -> {
-            if (r2.pts != r1.pts) return Integer.compare(r2.pts, r1.pts);
-            if (r2.gd != r1.gd) return Integer.compare(r2.gd, r1.gd);
-            if (r2.gf != r1.gf) return Integer.compare(r2.gf, r1.gf);
-            return r1.team.compareTo(r2.team);
-        });
-        System.out.printf(Locale.ROOT, "%-14s | %2s %2s %2s | %3s %3s %3s | %3s%n",
-                "Team","W","D","L","GF","GA","GD","Pkt");
-        for (Row r : rows) {
-            System.out.printf(Locale.ROOT, "%-14s | %2d %2d %2d | %3d %3d %3d | %3d%n",
-                    r.team, r.w, r.d, r.l, r.gf, r.ga, r.gd, r.pts);
-        }
+        Standings table = table(seasonMatches, scope);
+        printTable(table);
         System.out.println();
 
         // --- Vergleich: Heimsiege / Auswärtssiege / Unentschieden ---
+        metrics.phase("outcomes");
         System.out.println("-- Vergleich: Heimsiege vs. Auswärtssiege vs. Unentschieden --");
-        int homeWins = 0, awayWins = 0, draws = 0;
-        for (Match m : matches) {
-            if (m.homeGoals > m.awayGoals) homeWins++;
-            else if (m.homeGoals < m.awayGoals) awayWins++;
-            else draws++;
-        }
+        long homeWins = overall.homeWins(), awayWins = overall.awayWins(), draws = overall.draws();
 
-        int total = matches.size();
+        long total = overall.matches();
         double homePct = total == 0 ? 0 : (homeWins * 100.0) / total;
         double awayPct = total == 0 ? 0 : (awayWins * 100.0) / total;
         double drawPct = total == 0 ? 0 : (draws * 100.0) / total;
@@ -166,11 +270,354 @@ public class Main {
         System.out.printf(Locale.ROOT,
                 "Heimsiege: %.0f%%%nAuswärtssiege: %.0f%%%nUnentschieden: %.0f%%%n",
                 homePct, awayPct, drawPct);
+
+        // Die optionalen Auswertungen laufen chronologisch über alle Spiele und brauchen sie in einer
+        // Tabelle; die Zeilen der Saison liegen dort ab dem Beginn ihrer Partition
+        int[] lastInAll = last;
+        if (store != null && (withOdds || eloOptions != null || formWindow > 0 || Arrays.asList(args).contains("--players"))) {
+            matches = store.all();
+            int offset = store.offsetInAll(league, season);
+            lastInAll = new int[last.length];
+            for (int k = 0; k < last.length; k++) lastInAll[k] = last[k] + offset;
+        }
+
+        // Optional: Auswertung der Wettquoten
+        if (Arrays.asList(args).contains("--odds")) {
+            metrics.phase("odds");
+            printOdds(OddsStats.of(matches));
+        }
+
+        // Optional: Elo-Wertung über alle Spiele (K-Faktor und Heimvorteil einstellbar)
+        if (eloOptions != null) {
+            metrics.phase("elo");
+            printElo(matches, elo(matches, eloOptions[0], eloOptions[1]), table, league, season);
+        }
+
+        // Optional: Form (letzte N Spiele) der Teams und beider Teams vor den letzten Spielen der Saison
+        if (formWindow > 0) {
+            metrics.phase("form");
+            printForm(matches, formWindow, table, lastInAll, league, season);
+        }
+
+        // Optional: Spielerstatistiken mit Team-Werten aus den Spielen verknüpfen
+        if (Arrays.asList(args).contains("--players")) {
+            metrics.phase("players");
+            printPlayerJoin(playerJoin(matches, players), league, season);
+        }
+
+        // Vor --follow ausgeben, da dieses bis zum Abbruch weiterläuft
+        reportMetrics(metrics, metricsTarget);
+
+        // Optional: neue Resultate aus matches.csv laufend in die Tabelle einrechnen
+        if (Arrays.asList(args).contains("--follow")) {
+            if (!follow) {
+                System.err.println("--follow geht nur mit einer einzelnen unkomprimierten matches.csv: " + matchesPath);
+            } else {
+                followTable(Paths.get(matchesPath), loadedEnd, league, season, table);
+            }
+        }
+    }
+
+    // --- Einzelne Auswertungen (auch vom Benchmark verwendet) ---
+
+    // Zeilen der Liga/Saison in Dateireihenfolge (direkt aus dem Index)
+    static int[] filterSeason(MatchTable matches, int leagueId, int season) {
+        return matches.index().select(leagueId, season);
+    }
+
+    // Kennzahlen pro Team und die letzten 10 Spiele, in einem Durchlauf über die gegebenen Zeilen
+    static PartitionStats seasonStats(MatchTable matches, int[] rows) {
+        PartitionStats partitions = new PartitionStats(10);
+        new FusedScan().add(partitions).run(matches, rows);
+        return partitions;
+    }
+
+    // Tordifferenz je Zeile (Heimtore - Auswärtstore)
+    static int[] goalDiffs(MatchTable matches, int[] rows) {
+        int[] diffs = new int[rows.length];
+        for (int k = 0; k < rows.length; k++) {
+            diffs[k] = matches.homeGoals(rows[k]) - matches.awayGoals(rows[k]);
+        }
+        return diffs;
+    }
+
+    static Map<String, Integer> goalsPerTeam(MatchTable matches, PartitionStats.Partition scope) {
+        // Map in Reihenfolge des ersten Auftretens befüllen, damit Gleichstände wie bisher sortiert werden
+        Map<String, Integer> goalsMap = new HashMap<>();
+        for (int k = 0; k < scope.teamCount(); k++) {
+            int t = scope.team(k);
+            goalsMap.put(matches.teamName(t), scope.goalsFor(t));
+        }
+        return goalsMap;
+    }
+
+    static List<PlayerStat> topScorers(List<PlayerStat> players, String league, int season, int limit) {
+        // Top N für alle Ligen/Saisons auf einmal (begrenzter Heap pro Partition, parallel)
+        Map<LeagueSeason, List<PlayerStat>> topByPartition = TopK.perPartition(players,
+                p -> new LeagueSeason(p.league, p.season), limit, Comparator.comparingInt((PlayerStat p) -> p.goals));
+        return topByPartition.getOrDefault(new LeagueSeason(league, season), List.of());
+    }
+
+    // Elo-Wertung in einem Durchlauf über alle Spiele in chronologischer Reihenfolge
+    static EloRatings elo(MatchTable matches, double k, double homeAdvantage) {
+        EloRatings elo = new EloRatings(matches.teams().size(), k, homeAdvantage);
+        new FusedScan().add(elo).run(matches, matches.index().chronological());
+        return elo;
+    }
+
+    // Form aller Teams in einem Durchlauf über alle Spiele in chronologischer Reihenfolge
+    static FormTracker form(MatchTable matches, int window, FormTracker.Listener listener) {
+        FormTracker form = new FormTracker(matches.teams().size(), window, listener);
+        new FusedScan().add(form).run(matches, matches.index().chronological());
+        return form;
+    }
+
+    // Hash-Join Spieler -> Team-Saison (Tore und Spiele des Teams)
+    static PlayerJoin playerJoin(MatchTable matches, List<PlayerStat> players) {
+        return PlayerJoin.of(matches, players);
+    }
+
+    // Durchschnitt und Heim/Auswärts/Unentschieden in einem Durchlauf über alle Spiele
+    static OverallStats overall(MatchTable matches) {
+        OverallStats overall = new OverallStats();
+        new FusedScan().add(overall).run(matches);
+        return overall;
+    }
+
+    // Dieselben Gesamtwerte, ein Durchlauf pro Partition in denselben Akkumulator
+    static OverallStats overall(MatchStore store) {
+        OverallStats overall = new OverallStats();
+        FusedScan scan = new FusedScan().add(overall);
+        for (MatchStore.Key key : store.partitions()) scan.run(store.partition(key.league, key.season));
+        return overall;
+    }
+
+    static Standings table(MatchTable matches, PartitionStats.Partition scope) {
+        Standings table = new Standings();
+        for (int k = 0; k < scope.teamCount(); k++) {
+            int t = scope.team(k);
+            table.set(matches.teamName(t), scope.wins(t), scope.draws(t), scope.losses(t),
+                    scope.goalsFor(t), scope.goalsAgainst(t));
+        }
+        return table;
+    }
+
+    // "--elo" oder "--elo=k[,heimvorteil]" -> {k, heimvorteil}; null bei fehlenden oder ungültigen Werten
+    static double[] parseElo(String arg) {
+        double k = EloRatings.DEFAULT_K, home = EloRatings.DEFAULT_HOME_ADVANTAGE;
+        if (arg.startsWith("--elo=")) {
+            String[] parts = arg.substring("--elo=".length()).split(",", -1);
+            if (parts.length > 2) return null;
+            try {
+                k = Double.parseDouble(parts[0].trim());
+                if (parts.length > 1) home = Double.parseDouble(parts[1].trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (!(k > 0) || Double.isInfinite(k) || !Double.isFinite(home)) return null;
+        return new double[]{k, home};
+    }
+
+    // "--form" oder "--form=n" -> n; 0 bei fehlendem oder ungültigem Wert
+    // Port aus --serve[=port]; -1, falls keine Zahl von 0 bis 65535
+    static int parseServe(String arg) {
+        if (arg.equals("--serve")) return AnalysisServer.DEFAULT_PORT;
+        try {
+            int port = Integer.parseInt(arg.substring("--serve=".length()).trim());
+            return port >= 0 && port <= 65535 ? port : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static int parseForm(String arg) {
+        if (arg.equals("--form")) return FormTracker.DEFAULT_WINDOW;
+        try {
+            int window = Integer.parseInt(arg.substring("--form=".length()).trim());
+            return window >= 1 && window <= FormTracker.MAX_WINDOW ? window : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Nimmt "<name>.gz", wenn nur die komprimierte Datei vorhanden ist (wird beim Lesen entpackt)
+    private static Path dataFile(String dir, String name) {
+        Path plain = Paths.get(dir, name);
+        Path gz = Paths.get(dir, name + ".gz");
+        return !Files.isRegularFile(plain) && Files.isRegularFile(gz) ? gz : plain;
+    }
+
+    // Beendet die letzte Phase; Tabelle auf stderr (Bericht bleibt unverändert) oder JSON in die Datei
+    private static void reportMetrics(Metrics metrics, String target) throws IOException {
+        metrics.finish();
+        if (target == null) return;
+        System.out.flush();
+        if (target.isEmpty()) metrics.printTable(System.err);
+        else metrics.writeJson(Paths.get(target));
+    }
+
+    private static void printOdds(OddsStats odds) {
+        System.out.println();
+        System.out.println("-- Quoten: implizite Wahrscheinlichkeiten und Marge (alle Spiele) --");
+        System.out.printf(Locale.ROOT, "%-8s | %7s | %6s | %6s %6s %6s%n", "Anbieter", "Spiele", "Marge", "Heim", "Unent.", "Ausw.");
+        for (int b = 0; b < MatchTable.BOOKMAKERS.length; b++) {
+            System.out.printf(Locale.ROOT, "%-8s | %7d | %5.1f%% | %5.1f%% %5.1f%% %5.1f%%%n",
+                    MatchTable.BOOKMAKERS[b], odds.quoted(b), 100 * odds.averageMargin(b),
+                    100 * odds.averageProbability(b, MatchTable.HOME),
+                    100 * odds.averageProbability(b, MatchTable.DRAW),
+                    100 * odds.averageProbability(b, MatchTable.AWAY));
+        }
+        System.out.println();
+        System.out.println("-- Quoten: Favorit laut Schlussquote (PS) --");
+        String[] labels = {"Heim", "Unentschieden", "Auswärts"};
+        int[] outcomes = {MatchTable.HOME, MatchTable.DRAW, MatchTable.AWAY};
+        for (int k = 0; k < outcomes.length; k++) {
+            int o = outcomes[k];
+            System.out.printf(Locale.ROOT, "%-13s | %7d Spiele | gewonnen %5.1f%% | erwartet %5.1f%%%n",
+                    labels[k], odds.favourites(o), 100 * odds.favouriteHitRate(o), 100 * odds.favouriteExpectedRate(o));
+        }
+    }
+
+    // Teams der gewählten Liga/Saison nach aktueller Elo-Wertung
+    private static void printElo(MatchTable matches, EloRatings elo, Standings table, String league, int season) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "-- Elo-Wertung nach allen Spielen (Teams %s %d) --%n", league, season);
+        List<Integer> teams = new ArrayList<>();
+        for (Standings.Entry e : table.ranking()) teams.add(matches.teams().find(e.team));
+        teams.sort((a, b) -> Double.compare(elo.rating(b), elo.rating(a)));
+        EloRatings.Series[] series = elo.seriesByTeam(matches);
+        System.out.printf(Locale.ROOT, "%-14s | %5s | %6s | %5s%n", "Team", "Elo", "Spiele", "Max");
+        for (int t : teams) {
+            System.out.printf(Locale.ROOT, "%-14s | %5.0f | %6d | %5.0f%n",
+                    matches.teamName(t), elo.rating(t), elo.played(t), series[t].peak());
+        }
+    }
+
+    private static void printForm(MatchTable matches, int window, Standings table, int[] rows, String league, int season) {
+        // Form beider Teams unmittelbar vor den gegebenen Spielen, im selben Durchlauf gemerkt
+        Map<Integer, String[]> before = new HashMap<>();
+        for (int row : rows) before.put(row, null);
+        FormTracker form = form(matches, window, (t, row, f) -> {
+            if (before.containsKey(row)) {
+                before.put(row, new String[]{f.results(t.homeTeam(row)), f.results(t.awayTeam(row))});
+            }
+        });
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "-- Form: letzte %d Spiele (Teams %s %d) --%n", window, league, season);
+        System.out.printf(Locale.ROOT, "%-14s | %-" + Math.max(4, window) + "s | %3s | %3s %3s%n", "Team", "Form", "Pkt", "GF", "GA");
+        for (Standings.Entry e : table.ranking()) {
+            int t = matches.teams().find(e.team);
+            System.out.printf(Locale.ROOT, "%-14s | %-" + Math.max(4, window) + "s | %3d | %3d %3d%n",
+                    e.team, form.results(t), form.points(t), form.goalsFor(t), form.goalsAgainst(t));
+        }
+        System.out.println();
+        System.out.printf(Locale.ROOT, "-- Form vor dem Spiel (%s %d, letzte %d) --%n", league, season, rows.length);
+        for (int i : rows) {
+            String[] f = before.get(i);
+            System.out.printf(Locale.ROOT, "%s | %s (%s) vs %s (%s) | %d:%d%n",
+                    matches.date(i), matches.teamName(matches.homeTeam(i)), f[0],
+                    matches.teamName(matches.awayTeam(i)), f[1], matches.homeGoals(i), matches.awayGoals(i));
+        }
     }
 
-    private static String inferLeague(List<Match> matches) {
+    private static void printPlayerJoin(PlayerJoin join, String league, int season) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "-- Spieler: Anteil an den Teamtoren (%s %d, Top 5) --%n", league, season);
+        List<PlayerJoin.Joined> rows = new ArrayList<>();
+        for (PlayerJoin.Joined j : join.joined()) {
+            if (j.club.league.equals(league) && j.club.season == season) rows.add(j);
+        }
+        rows.sort((a, b) -> Double.compare(b.shareOfTeamGoals(), a.shareOfTeamGoals()));
+        for (int i = 0; i < Math.min(5, rows.size()); i++) {
+            PlayerJoin.Joined j = rows.get(i);
+            System.out.printf(Locale.ROOT, "%d. %s (%s) | %d von %d Toren = %.0f%% | %.2f Tore pro Teamspiel%n",
+                    i + 1, j.player.player, j.club.team, j.player.goals, j.club.goals(),
+                    100 * j.shareOfTeamGoals(), j.goalsPerTeamMatch());
+        }
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "-- Torschützen-Konzentration pro Club (%s %d) --%n", league, season);
+        System.out.printf(Locale.ROOT, "%-14s | %4s | %7s | %11s | %9s%n", "Team", "Tore", "Spieler", "Top-Anteil", "Konzentr.");
+        for (PlayerJoin.Club c : join.clubs()) {
+            if (!c.league.equals(league) || c.season != season || c.players() == 0) continue;
+            System.out.printf(Locale.ROOT, "%-14s | %4d | %7d | %10.0f%% | %9.2f%n",
+                    c.team, c.goals(), c.players(), 100 * c.topShare(), c.concentration());
+        }
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "-- Join: %d Spielerzeilen verknüpft, %d ohne Team-Saison, %d Team-Saisons ohne Spieler --%n",
+                join.joined().size(), join.unmatchedRows(), join.clubsWithoutPlayers());
+        int shown = 0;
+        for (Map.Entry<String, Integer> e : join.unmatchedKeys().entrySet()) {
+            if (shown++ == 10) break;
+            System.out.printf(Locale.ROOT, "ohne Treffer: %s (%d Zeilen)%n", e.getKey(), e.getValue());
+        }
+    }
+
+    private static void printTable(Standings table) {
+        System.out.printf(Locale.ROOT, "%-14s | %2s %2s %2s | %3s %3s %3s | %3s%n",
+                "Team","W","D","L","GF","GA","GD","Pkt");
+        for (Standings.Entry r : table.ranking()) {
+            System.out.printf(Locale.ROOT, "%-14s | %2d %2d %2d | %3d %3d %3d | %3d%n",
+                    r.team, r.wins(), r.draws(), r.losses(), r.goalsFor(), r.goalsAgainst(), r.goalDiff(), r.points());
+        }
+    }
+
+    // Verfolgt matches.csv ab dem Ende des geladenen Bereichs und gibt die Tabelle
+    // nach jedem neuen Resultat der Liga/Saison erneut aus
+    private static void followTable(Path matchesPath, long from, String league, int season, Standings table) throws IOException {
+        System.out.println();
+        System.out.println("-- Warte auf neue Resultate in " + matchesPath + " (Abbruch mit Ctrl+C) --");
+        try (CsvTail tail = CsvTail.from(matchesPath, from)) {
+            while (true) {
+                int[] applied = {0};
+                tail.poll(row -> {
+                    if (row.length < Match.CSV_FIELDS) {
+                        // Unvollständige Zeile überspringen statt das Verfolgen abzubrechen
+                        System.err.println("Zeile übersprungen (zu wenige Spalten): " + String.join(",", row));
+                        return;
+                    }
+                    Match m = Match.fromCsv(row);
+                    if (m.league.equals(league) && m.season == season) {
+                        table.apply(m);
+                        applied[0]++;
+                        System.out.printf(Locale.ROOT, "%s | %s vs %s | %d:%d%n",
+                                m.date, m.homeTeam, m.awayTeam, m.homeGoals, m.awayGoals);
+                    }
+                });
+                if (applied[0] > 0) {
+                    printTable(table);
+                    System.out.println();
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    static String inferLeague(MatchTable matches, MatchIndex index) {
+        // Ids sind in Reihenfolge des ersten Auftretens vergeben -> gleiche Map wie bisher
+        Map<String, Long> counts = new HashMap<>();
+        for (int id = 0; id < matches.leagues().size(); id++) counts.put(matches.leagueName(id), index.leagueMatches(id));
+        return inferLeague(counts);
+    }
+
+    // Dasselbe aus den Grössen der Partitionen (ohne Gesamttabelle)
+    static String inferLeague(MatchStore store) {
         Map<String, Long> counts = new HashMap<>();
-        for (Match m : matches) counts.merge(m.league, 1L, Long::sum);
+        for (MatchStore.Key key : store.partitions()) {
+            counts.merge(key.league, (long) store.partition(key.league, key.season).size(), Long::sum);
+        }
+        return inferLeague(counts);
+    }
+
+    private static String inferLeague(Map<String, Long> counts) {
         if (counts.containsKey("Super League")) return "Super League";
         return counts.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
@@ -178,22 +625,15 @@ public class Main {
                 .orElse("");
     }
 
-    private static int inferLatestSeason(List<Match> matches, String league) {
-        int max = 0;
-        boolean present = false;
-        for (Match m : matches) {
-            if (!league.isEmpty() && !m.league.equals(league)) continue;
-            if (!present || m.season > max) { max = m.season; present = true; }
-        }
-        return present ? max : 0;
-    }
-
-    private static String inferTeam(List<Match> matches, String league, int season) {
+    static String inferTeam(MatchTable matches, PartitionStats partitions, int leagueId, int season) {
+        // Einsätze aller gescannten Partitionen zusammenzählen (leere Liga / Saison 0 = alle)
         Map<String, Integer> counts = new HashMap<>();
-        for (Match m : matches) {
-            if ((!league.isEmpty() && !m.league.equals(league)) || (season != 0 && m.season != season)) continue;
-            counts.merge(m.homeTeam, 1, Integer::sum);
-            counts.merge(m.awayTeam, 1, Integer::sum);
+        for (PartitionStats.Partition p : partitions.all()) {
+            if ((leagueId >= 0 && p.league != leagueId) || (season != 0 && p.season != season)) continue;
+            for (int k = 0; k < p.teamCount(); k++) {
+                int t = p.team(k);
+                counts.merge(matches.teamName(t), p.appearances(t), Integer::sum);
+            }
         }
         if (counts.containsKey("Basel")) return "Basel";
         return counts.entrySet().stream()
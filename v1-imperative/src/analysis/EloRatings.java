@@ -0,0 +1,194 @@
+package analysis;
+
+import model.MatchTable;
+
+import java.util.Arrays;
+
+/**
+ * Elo-Wertung aller Teams über die ganze Spielhistorie.
+ * Die Spiele müssen chronologisch kommen (z. B. Zeilen aus {@link model.MatchIndex#chronological()});
+ * jedes Spiel wird genau einmal verarbeitet.
+ *
+ * Pro Spiel: erwartetes Heimresultat E = 1 / (1 + 10^((Rg - (Rh + Heimvorteil)) / 400)),
+ * tatsächliches S = 1 / 0.5 / 0 (Sieg/Unentschieden/Niederlage), Änderung = K * (S - E);
+ * das Heimteam gewinnt, was das Gastteam verliert.
+ *
+ * Die Wertungen liegen in einem double[] nach Team-Id. Für den Verlauf wird pro Spiel nur
+ * die Zeile und die Änderung gemerkt (kein Stand aller Teams pro Spiel); {@link #series}
+ * rechnet den Verlauf eines Teams daraus nach, {@link #seriesByTeam} die Verläufe aller Teams
+ * in einem Durchgang. Neue Resultate lassen sich jederzeit mit
+ * {@link #apply} nachtragen.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class EloRatings implements MatchAccumulator {
+
+    /** Startwert jedes Teams */
+    public static final double INITIAL = 1500.0;
+
+    /** Standard-K-Faktor (Änderung pro Spiel höchstens K) */
+    public static final double DEFAULT_K = 20.0;
+
+    /** Standard-Heimvorteil in Elo-Punkten */
+    public static final double DEFAULT_HOME_ADVANTAGE = 100.0;
+
+    private final double k;
+    private final double homeAdvantage;
+
+    // Wertung und Anzahl Spiele pro Team (Index = Team-Id), wachsen bei neuen Teams mit
+    private double[] ratings;
+    private int[] played;
+
+    // Verarbeitete Spiele: Zeile und Änderung der Heimwertung
+    private int[] rows = new int[1024];
+    private float[] deltas = new float[1024];
+    private int count;
+
+    /**
+     * @param teams Erwartete Anzahl Teams (Grösse der Arrays, wächst bei Bedarf)
+     * @param k K-Faktor
+     * @param homeAdvantage Heimvorteil in Elo-Punkten
+     */
+    public EloRatings(int teams, double k, double homeAdvantage) {
+        if (!(k > 0) || Double.isInfinite(k)) throw new IllegalArgumentException("K-Faktor muss positiv sein: " + k);
+        if (!Double.isFinite(homeAdvantage)) throw new IllegalArgumentException("Ungültiger Heimvorteil: " + homeAdvantage);
+        this.k = k;
+        this.homeAdvantage = homeAdvantage;
+        this.ratings = new double[Math.max(1, teams)];
+        this.played = new int[ratings.length];
+        Arrays.fill(ratings, INITIAL);
+    }
+
+    @Override
+    public void accept(MatchTable table, int row) {
+        double delta = apply(table.homeTeam(row), table.awayTeam(row), table.homeGoals(row), table.awayGoals(row));
+        if (count == rows.length) {
+            rows = Arrays.copyOf(rows, count * 2);
+            deltas = Arrays.copyOf(deltas, count * 2);
+        }
+        rows[count] = row;
+        deltas[count] = (float) delta;
+        count++;
+    }
+
+    /**
+     * Rechnet ein Resultat ein (ohne es für {@link #series} zu merken).
+     * @param home Team-Id des Heimteams
+     * @param away Team-Id des Gastteams
+     * @param homeGoals Tore Heim
+     * @param awayGoals Tore Gast
+     * @return Änderung der Heimwertung (das Gastteam ändert sich um den negativen Wert)
+     */
+    public double apply(int home, int away, int homeGoals, int awayGoals) {
+        ensure(Math.max(home, away));
+        double expected = 1.0 / (1.0 + Math.pow(10.0, (ratings[away] - ratings[home] - homeAdvantage) / 400.0));
+        double score = homeGoals > awayGoals ? 1.0 : homeGoals == awayGoals ? 0.5 : 0.0;
+        double delta = k * (score - expected);
+        ratings[home] += delta;
+        ratings[away] -= delta;
+        played[home]++;
+        played[away]++;
+        return delta;
+    }
+
+    private void ensure(int team) {
+        if (team < ratings.length) return;
+        int old = ratings.length;
+        int size = Math.max(team + 1, old * 2);
+        ratings = Arrays.copyOf(ratings, size);
+        played = Arrays.copyOf(played, size);
+        Arrays.fill(ratings, old, size, INITIAL);
+    }
+
+    /** @return Aktuelle Wertung des Teams ({@link #INITIAL}, falls es noch nicht gespielt hat) */
+    public double rating(int team) {
+        return team >= 0 && team < ratings.length ? ratings[team] : INITIAL;
+    }
+
+    /** @return Anzahl eingerechneter Spiele des Teams */
+    public int played(int team) {
+        return team >= 0 && team < played.length ? played[team] : 0;
+    }
+
+    /**
+     * Verlauf der Wertung eines Teams: Wert nach jedem seiner Spiele, die über
+     * {@link #accept} verarbeitet wurden (in Verarbeitungsreihenfolge).
+     * @param table Die Spieltabelle, aus der die Spiele stammen
+     * @param team Die Team-Id
+     * @return Der Verlauf
+     */
+    public Series series(MatchTable table, int team) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (table.homeTeam(rows[i]) == team || table.awayTeam(rows[i]) == team) n++;
+        }
+        Series s = new Series(n);
+        double r = INITIAL;
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            if (table.homeTeam(row) == team) r += deltas[i];
+            else if (table.awayTeam(row) == team) r -= deltas[i];
+            else continue;
+            s.rows[j] = row;
+            s.ratings[j++] = r;
+        }
+        return s;
+    }
+
+    /**
+     * Verläufe aller Teams in einem chronologischen Durchgang über die verarbeiteten Spiele
+     * (statt {@link #series} einmal pro Team).
+     * @param table Die Spieltabelle, aus der die Spiele stammen
+     * @return Verlauf pro Team-Id (leer für Teams ohne verarbeitete Spiele)
+     */
+    public Series[] seriesByTeam(MatchTable table) {
+        int teams = Math.max(ratings.length, table.teams().size());
+        int[] n = new int[teams];
+        for (int i = 0; i < count; i++) {
+            n[table.homeTeam(rows[i])]++;
+            n[table.awayTeam(rows[i])]++;
+        }
+        Series[] all = new Series[teams];
+        for (int t = 0; t < teams; t++) all[t] = new Series(n[t]);
+        // n wird zur Schreibposition, current zur laufenden Wertung pro Team
+        Arrays.fill(n, 0);
+        double[] current = new double[teams];
+        Arrays.fill(current, INITIAL);
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            int home = table.homeTeam(row), away = table.awayTeam(row);
+            current[home] += deltas[i];
+            current[away] -= deltas[i];
+            Series h = all[home], a = all[away];
+            h.rows[n[home]] = row;
+            h.ratings[n[home]++] = current[home];
+            a.rows[n[away]] = row;
+            a.ratings[n[away]++] = current[away];
+        }
+        return all;
+    }
+
+    /**
+     * Wertungsverlauf eines Teams.
+     */
+    public static class Series {
+        /** Zeilen der Spiele des Teams */
+        public final int[] rows;
+        /** Wertung nach dem jeweiligen Spiel */
+        public final double[] ratings;
+
+        Series(int n) {
+            this.rows = new int[n];
+            this.ratings = new double[n];
+        }
+
+        /** @return Höchste Wertung im Verlauf ({@link #INITIAL}, falls leer) */
+        public double peak() {
+            double max = INITIAL;
+            for (double r : ratings) max = Math.max(max, r);
+            return max;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package analysis;
+
+import model.MatchTable;
+
+import java.util.Arrays;
+
+/**
+ * Form der Teams über ihre letzten N Spiele: Punkte, Tore, Gegentore und Resultate.
+ * Die Spiele müssen chronologisch kommen (z. B. Zeilen aus {@link model.MatchIndex#chronological()});
+ * die Form läuft über Saison- und Ligagrenzen hinweg weiter.
+ *
+ * Pro Team gibt es einen Ringpuffer mit N Plätzen (flach in einem Array, Platz = Team * N + i)
+ * und laufende Summen. Ein neues Spiel überschreibt den ältesten Platz und korrigiert die
+ * Summen um den alten Wert, daher kosten Einrechnen und Abfragen der Summen O(1).
+ *
+ * Mit einem {@link Listener} wird vor dem Einrechnen jedes Spiels die Form beider Teams
+ * gemeldet (Stand unmittelbar vor dem Spiel), so entsteht die Form für die ganze Historie
+ * in einem einzigen Durchlauf.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class FormTracker implements MatchAccumulator {
+
+    /** Standardlänge der Form (letzte 5 Spiele) */
+    public static final int DEFAULT_WINDOW = 5;
+
+    /** Längste erlaubte Form (die Ausgabe zeigt ein Zeichen pro Spiel) */
+    public static final int MAX_WINDOW = 100;
+
+    // Grösstes Java-Array (etwas unter Integer.MAX_VALUE)
+    private static final int MAX_SLOTS = Integer.MAX_VALUE - 8;
+
+    /**
+     * Wird vor dem Einrechnen jedes Spiels aufgerufen.
+     */
+    public interface Listener {
+        /**
+         * @param table Die Spieltabelle
+         * @param row Die Zeile des Spiels, das gleich eingerechnet wird
+         * @param form Der Tracker mit dem Stand vor diesem Spiel
+         */
+        void before(MatchTable table, int row, FormTracker form);
+    }
+
+    private final int window;
+    private final Listener listener;
+
+    // Ringpuffer pro Team (Platz = Team * window + i)
+    private byte[] points;
+    private short[] goalsFor;
+    private short[] goalsAgainst;
+
+    // Pro Team: nächster Platz, belegte Plätze und laufende Summen
+    private int[] next;
+    private int[] count;
+    private int[] sumPoints;
+    private int[] sumGoalsFor;
+    private int[] sumGoalsAgainst;
+
+    /**
+     * @param teams Erwartete Anzahl Teams (wächst bei Bedarf)
+     * @param window Anzahl Spiele in der Form (N, 1 bis {@link #MAX_WINDOW})
+     */
+    public FormTracker(int teams, int window) {
+        this(teams, window, null);
+    }
+
+    /**
+     * @param teams Erwartete Anzahl Teams (wächst bei Bedarf)
+     * @param window Anzahl Spiele in der Form (N, 1 bis {@link #MAX_WINDOW})
+     * @param listener Wird vor jedem Spiel mit dem bisherigen Stand aufgerufen (oder null)
+     */
+    public FormTracker(int teams, int window, Listener listener) {
+        if (window < 1 || window > MAX_WINDOW) {
+            throw new IllegalArgumentException("Form braucht 1 bis " + MAX_WINDOW + " Spiele: " + window);
+        }
+        this.window = window;
+        this.listener = listener;
+        int t = Math.min(Math.max(1, teams), MAX_SLOTS / window);
+        points = new byte[t * window];
+        goalsFor = new short[t * window];
+        goalsAgainst = new short[t * window];
+        next = new int[t];
+        count = new int[t];
+        sumPoints = new int[t];
+        sumGoalsFor = new int[t];
+        sumGoalsAgainst = new int[t];
+    }
+
+    @Override
+    public void accept(MatchTable table, int row) {
+        if (listener != null) listener.before(table, row, this);
+        apply(table.homeTeam(row), table.awayTeam(row), table.homeGoals(row), table.awayGoals(row));
+    }
+
+    /**
+     * Rechnet ein Resultat für beide Teams ein.
+     * @param home Team-Id des Heimteams
+     * @param away Team-Id des Gastteams
+     * @param homeGoals Tore Heim
+     * @param awayGoals Tore Gast
+     */
+    public void apply(int home, int away, int homeGoals, int awayGoals) {
+        ensure(Math.max(home, away));
+        record(home, homeGoals, awayGoals);
+        record(away, awayGoals, homeGoals);
+    }
+
+    private void record(int team, int scored, int conceded) {
+        int slot = team * window + next[team];
+        if (count[team] == window) {
+            // Ältestes Spiel fällt heraus
+            sumPoints[team] -= points[slot];
+            sumGoalsFor[team] -= goalsFor[slot];
+            sumGoalsAgainst[team] -= goalsAgainst[slot];
+        } else {
+            count[team]++;
+        }
+        byte p = (byte) (scored > conceded ? 3 : scored == conceded ? 1 : 0);
+        points[slot] = p;
+        goalsFor[slot] = (short) scored;
+        goalsAgainst[slot] = (short) conceded;
+        sumPoints[team] += p;
+        sumGoalsFor[team] += scored;
+        sumGoalsAgainst[team] += conceded;
+        next[team] = next[team] + 1 == window ? 0 : next[team] + 1;
+    }
+
+    private void ensure(int team) {
+        if (team < next.length) return;
+        // Teams * N muss in ein Array passen; beim Verdoppeln höchstens bis zu dieser Grenze wachsen
+        int maxTeams = MAX_SLOTS / window;
+        if (team >= maxTeams) throw new IllegalStateException("Zu viele Teams für eine Form über " + window + " Spiele: " + (team + 1));
+        int size = (int) Math.min(maxTeams, Math.max(team + 1L, next.length * 2L));
+        points = Arrays.copyOf(points, size * window);
+        goalsFor = Arrays.copyOf(goalsFor, size * window);
+        goalsAgainst = Arrays.copyOf(goalsAgainst, size * window);
+        next = Arrays.copyOf(next, size);
+        count = Arrays.copyOf(count, size);
+        sumPoints = Arrays.copyOf(sumPoints, size);
+        sumGoalsFor = Arrays.copyOf(sumGoalsFor, size);
+        sumGoalsAgainst = Arrays.copyOf(sumGoalsAgainst, size);
+    }
+
+    /** @return Anzahl Spiele in der Form (N) */
+    public int window() { return window; }
+
+    /** @return Anzahl Spiele in der aktuellen Form des Teams (höchstens N) */
+    public int played(int team) { return team < count.length ? count[team] : 0; }
+
+    /** @return Punkte aus den letzten N Spielen */
+    public int points(int team) { return team < sumPoints.length ? sumPoints[team] : 0; }
+
+    /** @return Tore aus den letzten N Spielen */
+    public int goalsFor(int team) { return team < sumGoalsFor.length ? sumGoalsFor[team] : 0; }
+
+    /** @return Gegentore aus den letzten N Spielen */
+    public int goalsAgainst(int team) { return team < sumGoalsAgainst.length ? sumGoalsAgainst[team] : 0; }
+
+    /**
+     * Resultate der letzten N Spiele als Text, ältestes zuerst (z. B. "WDLWW").
+     * Kostet O(N), da der Text aus dem Ringpuffer zusammengesetzt wird.
+     * @param team Die Team-Id
+     * @return W/D/L pro Spiel ("" falls noch keine Spiele)
+     */
+    public String results(int team) {
+        int n = played(team);
+        StringBuilder sb = new StringBuilder(n);
+        // Bei vollem Puffer ist "next" zugleich der älteste Platz
+        int start = n == window ? next[team] : 0;
+        for (int i = 0; i < n; i++) {
+            byte p = points[team * window + (start + i) % window];
+            sb.append(p == 3 ? 'W' : p == 1 ? 'D' : 'L');
+        }
+        return sb.toString();
+    }
+}
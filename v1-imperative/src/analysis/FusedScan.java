@@ -0,0 +1,52 @@
+package analysis;
+
+import model.MatchTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Führt alle registrierten {@link MatchAccumulator}en in einem einzigen Durchlauf aus.
+ * Jede Zeile wird nur einmal gelesen und nacheinander an alle Accumulatoren übergeben,
+ * statt für jede Auswertung erneut über alle Spiele zu laufen.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class FusedScan {
+
+    private final List<MatchAccumulator> accumulators = new ArrayList<>();
+
+    /**
+     * Registriert einen Accumulator.
+     * @param accumulator Der Accumulator
+     * @return Dieser Scan
+     */
+    public FusedScan add(MatchAccumulator accumulator) {
+        accumulators.add(accumulator);
+        return this;
+    }
+
+    /**
+     * Läuft einmal über alle Zeilen der Tabelle.
+     * @param table Die Spieltabelle
+     */
+    public void run(MatchTable table) {
+        MatchAccumulator[] all = accumulators.toArray(new MatchAccumulator[0]);
+        for (int row = 0; row < table.size(); row++) {
+            for (MatchAccumulator a : all) a.accept(table, row);
+        }
+    }
+
+    /**
+     * Läuft einmal über die angegebenen Zeilen (z. B. aus einem {@link model.MatchIndex}).
+     * @param table Die Spieltabelle
+     * @param rows Die Zeilennummern in gewünschter Reihenfolge
+     */
+    public void run(MatchTable table, int[] rows) {
+        MatchAccumulator[] all = accumulators.toArray(new MatchAccumulator[0]);
+        for (int row : rows) {
+            for (MatchAccumulator a : all) a.accept(table, row);
+        }
+    }
+}
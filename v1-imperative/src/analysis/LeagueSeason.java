@@ -0,0 +1,38 @@
+package analysis;
+
+import java.util.Objects;
+
+/**
+ * Schlüssel für eine Partition aus Liga und Saison (z. B. "Super League", 2025).
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class LeagueSeason {
+
+    public final String league;
+    public final int season;
+
+    public LeagueSeason(String league, int season) {
+        this.league = league;
+        this.season = season;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LeagueSeason)) return false;
+        LeagueSeason other = (LeagueSeason) o;
+        return season == other.season && league.equals(other.league);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(league, season);
+    }
+
+    @Override
+    public String toString() {
+        return league + " " + season;
+    }
+}
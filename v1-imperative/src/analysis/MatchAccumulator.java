@@ -0,0 +1,21 @@
+package analysis;
+
+import model.MatchTable;
+
+/**
+ * Ein Teil einer Auswertung, der Spiel für Spiel mit Daten gefüttert wird.
+ * Mehrere Accumulatoren können über {@link FusedScan} gemeinsam in einem
+ * einzigen Durchlauf über die Tabelle laufen.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public interface MatchAccumulator {
+
+    /**
+     * Verarbeitet eine Zeile der Tabelle.
+     * @param table Die Spieltabelle
+     * @param row Der Zeilenindex
+     */
+    void accept(MatchTable table, int row);
+}
@@ -0,0 +1,114 @@
+package analysis;
+
+import model.MatchTable;
+
+/**
+ * Auswertung der Wettquoten über alle Spiele.
+ * Läuft pro Anbieter in einer engen Schleife über die float-Spalten der {@link MatchTable}:
+ * <ul>
+ *   <li>implizite Wahrscheinlichkeit je Ausgang (1 / Quote, auf 100 % normiert)</li>
+ *   <li>Buchmacher-Marge (Summe der Kehrwerte minus 1)</li>
+ *   <li>Favorit laut Schlussquote (PS): wie oft Heim/Unentschieden/Auswärts Favorit war,
+ *       wie oft der Favorit gewonnen hat und welche Gewinnchance die Quote im Schnitt erwartet hat</li>
+ * </ul>
+ * Spiele ohne vollständige Quoten eines Anbieters (NaN) zählen für diesen Anbieter nicht.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class OddsStats {
+
+    // Anbieter der Schlussquote für die Favoriten-Auswertung
+    private static final int CLOSING = 0;
+
+    private final long[] quoted = new long[MatchTable.BOOKMAKERS.length];
+    private final double[] marginSum = new double[MatchTable.BOOKMAKERS.length];
+    private final double[][] probabilitySum = new double[MatchTable.BOOKMAKERS.length][3];
+
+    // Favoriten laut Schlussquote, Index = Ausgang
+    private final long[] favourites = new long[3];
+    private final long[] favouriteWins = new long[3];
+    private final double[] favouriteProbabilitySum = new double[3];
+
+    /**
+     * Wertet alle Spiele der Tabelle aus.
+     * @param table Die Spieltabelle
+     * @return Die Kennzahlen
+     */
+    public static OddsStats of(MatchTable table) {
+        OddsStats s = new OddsStats();
+        for (int b = 0; b < MatchTable.BOOKMAKERS.length; b++) s.scanBookmaker(table, b);
+        s.scanFavourites(table);
+        return s;
+    }
+
+    private void scanBookmaker(MatchTable t, int b) {
+        long n = 0;
+        double margin = 0, home = 0, draw = 0, away = 0;
+        for (int row = 0; row < t.size(); row++) {
+            float h = t.odds(b, MatchTable.HOME, row);
+            float d = t.odds(b, MatchTable.DRAW, row);
+            float a = t.odds(b, MatchTable.AWAY, row);
+            // NaN und unsinnige Quoten (<= 1) fallen hier heraus
+            if (!(h > 1f && d > 1f && a > 1f)) continue;
+            double ih = 1.0 / h, id = 1.0 / d, ia = 1.0 / a;
+            double book = ih + id + ia;
+            n++;
+            margin += book - 1;
+            home += ih / book;
+            draw += id / book;
+            away += ia / book;
+        }
+        quoted[b] = n;
+        marginSum[b] = margin;
+        probabilitySum[b][MatchTable.HOME] = home;
+        probabilitySum[b][MatchTable.DRAW] = draw;
+        probabilitySum[b][MatchTable.AWAY] = away;
+    }
+
+    private void scanFavourites(MatchTable t) {
+        for (int row = 0; row < t.size(); row++) {
+            float h = t.odds(CLOSING, MatchTable.HOME, row);
+            float d = t.odds(CLOSING, MatchTable.DRAW, row);
+            float a = t.odds(CLOSING, MatchTable.AWAY, row);
+            if (!(h > 1f && d > 1f && a > 1f)) continue;
+            // Tiefste Quote = Favorit (bei Gleichstand Heim vor Unentschieden vor Auswärts)
+            int fav = MatchTable.HOME;
+            float best = h;
+            if (d < best) { fav = MatchTable.DRAW; best = d; }
+            if (a < best) { fav = MatchTable.AWAY; best = a; }
+            double book = 1.0 / h + 1.0 / d + 1.0 / a;
+            favourites[fav]++;
+            favouriteProbabilitySum[fav] += (1.0 / best) / book;
+            int hg = t.homeGoals(row), ag = t.awayGoals(row);
+            int result = hg > ag ? MatchTable.HOME : hg < ag ? MatchTable.AWAY : MatchTable.DRAW;
+            if (result == fav) favouriteWins[fav]++;
+        }
+    }
+
+    /** @return Anzahl Spiele mit vollständigen Quoten des Anbieters */
+    public long quoted(int bookmaker) { return quoted[bookmaker]; }
+
+    /** @return Durchschnittliche Marge des Anbieters (z. B. 0.05 = 5 %), 0 falls keine Quoten */
+    public double averageMargin(int bookmaker) {
+        return quoted[bookmaker] == 0 ? 0.0 : marginSum[bookmaker] / quoted[bookmaker];
+    }
+
+    /** @return Durchschnittliche normierte implizite Wahrscheinlichkeit des Ausgangs, 0 falls keine Quoten */
+    public double averageProbability(int bookmaker, int outcome) {
+        return quoted[bookmaker] == 0 ? 0.0 : probabilitySum[bookmaker][outcome] / quoted[bookmaker];
+    }
+
+    /** @return Anzahl Spiele, in denen der Ausgang laut Schlussquote Favorit war */
+    public long favourites(int outcome) { return favourites[outcome]; }
+
+    /** @return Anteil dieser Favoriten, die tatsächlich eingetreten sind (0 falls keine) */
+    public double favouriteHitRate(int outcome) {
+        return favourites[outcome] == 0 ? 0.0 : (double) favouriteWins[outcome] / favourites[outcome];
+    }
+
+    /** @return Durchschnittliche implizite Wahrscheinlichkeit dieser Favoriten (0 falls keine) */
+    public double favouriteExpectedRate(int outcome) {
+        return favourites[outcome] == 0 ? 0.0 : favouriteProbabilitySum[outcome] / favourites[outcome];
+    }
+}
@@ -0,0 +1,47 @@
+package analysis;
+
+import model.MatchTable;
+
+/**
+ * Kennzahlen über alle Spiele: Tore gesamt sowie Heimsiege, Auswärtssiege und Unentschieden.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class OverallStats implements MatchAccumulator {
+
+    private long matches;
+    private long goals;
+    private long homeWins;
+    private long awayWins;
+    private long draws;
+
+    @Override
+    public void accept(MatchTable table, int row) {
+        int hg = table.homeGoals(row);
+        int ag = table.awayGoals(row);
+        matches++;
+        goals += hg + ag;
+        if (hg > ag) homeWins++;
+        else if (hg < ag) awayWins++;
+        else draws++;
+    }
+
+    /** @return Anzahl Spiele */
+    public long matches() { return matches; }
+
+    /** @return Summe aller Tore */
+    public long goals() { return goals; }
+
+    /** @return Durchschnittstore pro Spiel (0, falls keine Spiele) */
+    public double averageGoals() { return matches == 0 ? 0.0 : (goals * 1.0) / matches; }
+
+    /** @return Anzahl Heimsiege */
+    public long homeWins() { return homeWins; }
+
+    /** @return Anzahl Auswärtssiege */
+    public long awayWins() { return awayWins; }
+
+    /** @return Anzahl Unentschieden */
+    public long draws() { return draws; }
+}
@@ -0,0 +1,238 @@
+package analysis;
+
+import model.MatchTable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sammelt pro Liga und Saison ("Partition") alle Werte für die Saison-Abschnitte des Berichts:
+ * letzte Spiele, Tore pro Team, Tabelle (W/D/L/GF/GA) und Einsätze pro Team.
+ * Da Liga und Saison erst nach dem Durchlauf feststehen, werden alle Partitionen gleichzeitig geführt.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class PartitionStats implements MatchAccumulator {
+
+    // Anzahl gemerkter letzter Spiele pro Partition
+    private final int lastN;
+
+    // Partitionen in Reihenfolge des ersten Auftretens
+    private final Map<Long, Partition> partitions = new LinkedHashMap<>();
+
+    // Die Daten sind meist nach Saison gruppiert -> letzte Partition direkt wiederverwenden
+    private long lastKey = Long.MIN_VALUE;
+    private Partition last;
+
+    /**
+     * @param lastN Anzahl letzter Spiele, die pro Partition gemerkt werden
+     */
+    public PartitionStats(int lastN) {
+        this.lastN = lastN;
+    }
+
+    @Override
+    public void accept(MatchTable table, int row) {
+        int league = table.league(row);
+        int season = table.season(row);
+        long key = key(league, season);
+        Partition p = last;
+        if (key != lastKey) {
+            p = partitions.get(key);
+            if (p == null) {
+                p = new Partition(league, season, lastN);
+                partitions.put(key, p);
+            }
+            lastKey = key;
+            last = p;
+        }
+        p.add(table, row);
+    }
+
+    private static long key(int league, int season) {
+        return ((long) league << 32) | (season & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return Die Partition oder null, falls es keine Spiele dazu gibt
+     */
+    public Partition get(int league, int season) {
+        return partitions.get(key(league, season));
+    }
+
+    /** @return Alle Partitionen in Reihenfolge des ersten Auftretens */
+    public Collection<Partition> all() {
+        return partitions.values();
+    }
+
+    /**
+     * Werte einer Liga/Saison. Team-Werte sind über die Team-Id der Tabelle adressiert; intern liegen
+     * sie nur für die Teams der Partition vor (Team-Id -> Position, Reihenfolge des ersten Auftretens).
+     */
+    public static class Partition {
+
+        public final int league;
+        public final int season;
+
+        // Ringpuffer der letzten Zeilen
+        private final int[] lastRows;
+        private int matchCount;
+
+        // Team-Id -> Position (offene Adressierung; Schlüssel team + 1, 0 = frei)
+        private int[] keys = new int[64];
+        private int[] slots = new int[64];
+
+        // Pro Position: Team-Id (Reihenfolge des ersten Auftretens) und Werte; wächst mit den Teams der Partition
+        private int[] order = new int[32];
+        private int teamCount;
+
+        private int[] appearances = new int[32];
+        private int[] goalsFor = new int[32];
+        private int[] goalsAgainst = new int[32];
+        private int[] wins = new int[32];
+        private int[] draws = new int[32];
+        private int[] losses = new int[32];
+
+        Partition(int league, int season, int lastN) {
+            this.league = league;
+            this.season = season;
+            this.lastRows = new int[lastN];
+        }
+
+        /**
+         * @return Eine leere Partition (für Liga/Saison ohne Spiele)
+         */
+        public static Partition empty(int league, int season) {
+            return new Partition(league, season, 0);
+        }
+
+        void add(MatchTable t, int row) {
+            if (lastRows.length > 0) lastRows[matchCount % lastRows.length] = row;
+            matchCount++;
+            int h = slotOf(t.homeTeam(row)), a = slotOf(t.awayTeam(row));
+            int hg = t.homeGoals(row), ag = t.awayGoals(row);
+            // home
+            appearances[h]++;
+            goalsFor[h] += hg; goalsAgainst[h] += ag;
+            if (hg > ag) wins[h]++; else if (hg == ag) draws[h]++; else losses[h]++;
+            // away
+            appearances[a]++;
+            goalsFor[a] += ag; goalsAgainst[a] += hg;
+            if (ag > hg) wins[a]++; else if (ag == hg) draws[a]++; else losses[a]++;
+        }
+
+        // Position des Teams; neue Teams werden hinten angehängt
+        private int slotOf(int team) {
+            int mask = keys.length - 1;
+            int i = hash(team) & mask;
+            while (keys[i] != 0) {
+                if (keys[i] == team + 1) return slots[i];
+                i = (i + 1) & mask;
+            }
+            if (teamCount == order.length) growValues();
+            keys[i] = team + 1;
+            slots[i] = teamCount;
+            order[teamCount] = team;
+            if (++teamCount * 2 > keys.length) rehash();
+            return teamCount - 1;
+        }
+
+        // Position des Teams oder -1, falls es in der Partition nicht spielt
+        private int find(int team) {
+            int mask = keys.length - 1;
+            int i = hash(team) & mask;
+            while (keys[i] != 0) {
+                if (keys[i] == team + 1) return slots[i];
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        // Streut aufeinanderfolgende Ids über die Tabelle
+        private static int hash(int team) {
+            return (team * 0x9E3779B9) >>> 1;
+        }
+
+        private void rehash() {
+            keys = new int[keys.length * 2];
+            slots = new int[keys.length];
+            int mask = keys.length - 1;
+            for (int s = 0; s < teamCount; s++) {
+                int i = hash(order[s]) & mask;
+                while (keys[i] != 0) i = (i + 1) & mask;
+                keys[i] = order[s] + 1;
+                slots[i] = s;
+            }
+        }
+
+        private void growValues() {
+            int cap = order.length * 2;
+            order = Arrays.copyOf(order, cap);
+            appearances = Arrays.copyOf(appearances, cap);
+            goalsFor = Arrays.copyOf(goalsFor, cap);
+            goalsAgainst = Arrays.copyOf(goalsAgainst, cap);
+            wins = Arrays.copyOf(wins, cap);
+            draws = Arrays.copyOf(draws, cap);
+            losses = Arrays.copyOf(losses, cap);
+        }
+
+        /** @return Anzahl Spiele der Partition */
+        public int matchCount() { return matchCount; }
+
+        /**
+         * @return Die letzten Zeilen (höchstens lastN) in Dateireihenfolge
+         */
+        public int[] lastRows() {
+            int n = Math.min(matchCount, lastRows.length);
+            int[] rows = new int[n];
+            int first = matchCount - n;
+            for (int k = 0; k < n; k++) rows[k] = lastRows[(first + k) % lastRows.length];
+            return rows;
+        }
+
+        /** @return Anzahl Teams mit mindestens einem Spiel */
+        public int teamCount() { return teamCount; }
+
+        /** @return Team-Id an Position k (Reihenfolge des ersten Auftretens) */
+        public int team(int k) { return order[k]; }
+
+        /** @return Anzahl Spiele des Teams */
+        public int appearances(int team) {
+            int s = find(team);
+            return s < 0 ? 0 : appearances[s];
+        }
+
+        /** @return Erzielte Tore des Teams */
+        public int goalsFor(int team) {
+            int s = find(team);
+            return s < 0 ? 0 : goalsFor[s];
+        }
+
+        /** @return Gegentore des Teams */
+        public int goalsAgainst(int team) {
+            int s = find(team);
+            return s < 0 ? 0 : goalsAgainst[s];
+        }
+
+        /** @return Siege des Teams */
+        public int wins(int team) {
+            int s = find(team);
+            return s < 0 ? 0 : wins[s];
+        }
+
+        /** @return Unentschieden des Teams */
+        public int draws(int team) {
+            int s = find(team);
+            return s < 0 ? 0 : draws[s];
+        }
+
+        /** @return Niederlagen des Teams */
+        public int losses(int team) {
+            int s = find(team);
+            return s < 0 ? 0 : losses[s];
+        }
+    }
+}
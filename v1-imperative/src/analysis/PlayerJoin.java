@@ -0,0 +1,225 @@
+package analysis;
+
+import model.MatchTable;
+import model.PlayerStat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verknüpft die Spielerstatistiken mit Team-Werten aus den Spielen (Hash-Join).
+ *
+ * Build-Seite: ein Durchlauf über alle Spiele summiert pro (Liga, Saison, Team) Tore und
+ * Anzahl Spiele direkt in eine Hashtabelle mit offener Adressierung, deren Schlüssel nur
+ * aus Zahlen besteht (Liga-Id, Saison, Team-Id in einem long).
+ * Probe-Seite: pro Spielerzeile werden Team und Liga einmal über die Wörterbücher der
+ * {@link MatchTable} in Ids übersetzt, danach vergleicht der Join nur noch Zahlen.
+ * Laufzeit O(Spiele + Spieler) statt O(Spiele * Spieler) wie bei einer verschachtelten Schleife.
+ *
+ * Spielerzeilen ohne passenden Eintrag werden mit ihrem Schlüssel gezählt,
+ * ebenso Team-Saisons, zu denen es keine Spieler gibt.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class PlayerJoin {
+
+    private static final long EMPTY = -1L;
+
+    // Hashtabelle: Schlüssel -> Club-Index (offene Adressierung, lineares Sondieren)
+    private long[] keys;
+    private int[] slots;
+    private int mask;
+
+    private final List<Club> clubs = new ArrayList<>();
+    private final List<Joined> joined = new ArrayList<>();
+    private final Map<String, Integer> unmatched = new LinkedHashMap<>();
+    private int unmatchedRows;
+
+    private PlayerJoin(int capacity) {
+        allocate(Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1);
+    }
+
+    private void allocate(int size) {
+        keys = new long[size];
+        slots = new int[size];
+        mask = size - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Baut den Index über die Spiele und verknüpft alle Spielerzeilen.
+     * @param matches Die Spiele
+     * @param players Die Spielerstatistiken
+     * @return Das Ergebnis des Joins
+     */
+    public static PlayerJoin of(MatchTable matches, List<PlayerStat> players) {
+        // Build: Team-Werte pro (Liga, Saison, Team) in einem Durchlauf über alle Spiele
+        PlayerJoin join = new PlayerJoin(matches.index().partitionCount() * 20);
+        for (int row = 0; row < matches.size(); row++) {
+            int league = matches.league(row), season = matches.season(row);
+            int hg = matches.homeGoals(row), ag = matches.awayGoals(row);
+            join.club(matches, league, season, matches.homeTeam(row)).played(hg);
+            join.club(matches, league, season, matches.awayTeam(row)).played(ag);
+        }
+
+        // Probe: Namen einmal in Ids übersetzen, dann nur noch Zahlen vergleichen
+        for (PlayerStat s : players) {
+            int league = matches.leagues().find(s.league);
+            int team = matches.teams().find(s.team);
+            Club club = league < 0 || team < 0 ? null : join.lookup(key(league, s.season, team));
+            if (club == null) {
+                join.unmatchedRows++;
+                join.unmatched.merge(s.team + " / " + s.league + " / " + s.season, 1, Integer::sum);
+                continue;
+            }
+            club.add(s);
+            join.joined.add(new Joined(s, club));
+        }
+        return join;
+    }
+
+    // Liga (16 Bit), Saison (16 Bit), Team (32 Bit); nie negativ, daher nie gleich EMPTY
+    private static long key(int league, int season, int team) {
+        return ((long) (league & 0x7FFF) << 48) | ((long) (season & 0xFFFF) << 32) | (team & 0xFFFFFFFFL);
+    }
+
+    // Findet oder legt den Eintrag der Team-Saison an
+    private Club club(MatchTable matches, int league, int season, int team) {
+        long key = key(league, season, team);
+        int i = slot(key);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) return clubs.get(slots[i]);
+        }
+        Club club = new Club(matches.leagueName(league), season, matches.teamName(team));
+        keys[i] = key;
+        slots[i] = clubs.size();
+        clubs.add(club);
+        // Höchstens halb voll halten, sonst werden die Sondierketten lang
+        if (clubs.size() * 2 > keys.length) rehash();
+        return club;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        allocate(keys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == EMPTY) continue;
+            int i = slot(oldKeys[j]);
+            while (keys[i] != EMPTY) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            slots[i] = oldSlots[j];
+        }
+    }
+
+    private Club lookup(long key) {
+        for (int i = slot(key); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) return clubs.get(slots[i]);
+        }
+        return null;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /** @return Verknüpfte Spielerzeilen in Reihenfolge der Spielerdatei */
+    public List<Joined> joined() { return joined; }
+
+    /** @return Alle Team-Saisons aus den Spielen (auch ohne Spieler) */
+    public List<Club> clubs() { return clubs; }
+
+    /** @return Anzahl Spielerzeilen ohne passende Team-Saison */
+    public int unmatchedRows() { return unmatchedRows; }
+
+    /** @return Schlüssel "Team / Liga / Saison" ohne Treffer und wie oft sie vorkamen (Reihenfolge des ersten Auftretens) */
+    public Map<String, Integer> unmatchedKeys() { return unmatched; }
+
+    /** @return Anzahl Team-Saisons, zu denen es keine Spielerzeile gibt */
+    public int clubsWithoutPlayers() {
+        int n = 0;
+        for (Club c : clubs) if (c.players == 0) n++;
+        return n;
+    }
+
+    /**
+     * Werte eines Teams in einer Saison, ergänzt um die verknüpften Spieler.
+     */
+    public static class Club {
+        public final String league;
+        public final int season;
+        public final String team;
+        private int goals;
+        private int matches;
+        private int players;
+        private int playerGoals;
+        private int topGoals;
+        private long squaredGoals;
+
+        Club(String league, int season, String team) {
+            this.league = league;
+            this.season = season;
+            this.team = team;
+        }
+
+        void played(int scored) {
+            matches++;
+            goals += scored;
+        }
+
+        void add(PlayerStat s) {
+            players++;
+            playerGoals += s.goals;
+            topGoals = Math.max(topGoals, s.goals);
+            squaredGoals += (long) s.goals * s.goals;
+        }
+
+        /** @return Tore des Teams laut Spielen */
+        public int goals() { return goals; }
+
+        /** @return Spiele des Teams */
+        public int matches() { return matches; }
+
+        /** @return Anzahl verknüpfter Spieler */
+        public int players() { return players; }
+
+        /** @return Summe der Tore der verknüpften Spieler */
+        public int playerGoals() { return playerGoals; }
+
+        /** @return Anteil des besten Torschützen an den Teamtoren (0 falls keine Tore) */
+        public double topShare() { return goals == 0 ? 0.0 : (double) topGoals / goals; }
+
+        /**
+         * Konzentration der Tore unter den Spielern (Herfindahl-Index: Summe der quadrierten Anteile,
+         * 1 = ein einziger Torschütze, 1/n = n gleich starke).
+         * @return Der Index (0 falls keine Spielertore)
+         */
+        public double concentration() {
+            return playerGoals == 0 ? 0.0 : (double) squaredGoals / ((long) playerGoals * playerGoals);
+        }
+    }
+
+    /**
+     * Eine Spielerzeile mit der zugehörigen Team-Saison.
+     */
+    public static class Joined {
+        public final PlayerStat player;
+        public final Club club;
+
+        Joined(PlayerStat player, Club club) {
+            this.player = player;
+            this.club = club;
+        }
+
+        /** @return Anteil an den Teamtoren (0 falls das Team keine Tore hat) */
+        public double shareOfTeamGoals() { return club.goals == 0 ? 0.0 : (double) player.goals / club.goals; }
+
+        /** @return Tore pro Spiel des Teams (0 falls keine Spiele) */
+        public double goalsPerTeamMatch() { return club.matches == 0 ? 0.0 : (double) player.goals / club.matches; }
+    }
+}
@@ -0,0 +1,294 @@
+package analysis;
+
+import model.Match;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Laufend aktualisierbare Tabelle (W/D/L/GF/GA/Punkte pro Team).
+ * Ein Resultat wird mit {@link #apply} eingerechnet und mit {@link #revert} wieder entfernt.
+ * Die Werte eines Teams werden in O(1) gefunden; die Rangliste (Punkte, Tordifferenz, Tore, Name)
+ * liegt in einem Baum mit Teilbaumgrössen, sodass Neueinsortieren pro Resultat und die Abfrage
+ * des Rangs eines Teams je O(log n) kosten (erwartet).
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class Standings {
+
+    // Team -> Tabellenzeile
+    private final Map<String, Entry> byTeam = new HashMap<>();
+
+    // Rangliste: Punkte, Tordifferenz, Tore absteigend, dann Name aufsteigend
+    private final RankTree ranking = new RankTree((e1, e2) -> {
+        if (e2.points() != e1.points()) return Integer.compare(e2.points(), e1.points());
+        if (e2.goalDiff() != e1.goalDiff()) return Integer.compare(e2.goalDiff(), e1.goalDiff());
+        if (e2.goalsFor != e1.goalsFor) return Integer.compare(e2.goalsFor, e1.goalsFor);
+        return e1.team.compareTo(e2.team);
+    });
+
+    /**
+     * Rechnet ein Resultat in die Tabelle ein.
+     * @param m Das Spiel
+     */
+    public void apply(Match m) {
+        apply(m.homeTeam, m.awayTeam, m.homeGoals, m.awayGoals);
+    }
+
+    /**
+     * Nimmt ein zuvor eingerechnetes Resultat wieder heraus (z. B. bei einer Korrektur).
+     * @param m Das Spiel
+     * @throws IllegalArgumentException Wenn das Resultat so nicht eingerechnet sein kann
+     */
+    public void revert(Match m) {
+        revert(m.homeTeam, m.awayTeam, m.homeGoals, m.awayGoals);
+    }
+
+    /**
+     * Rechnet ein Resultat in die Tabelle ein.
+     */
+    public void apply(String home, String away, int homeGoals, int awayGoals) {
+        update(home, homeGoals, awayGoals, 1);
+        update(away, awayGoals, homeGoals, 1);
+    }
+
+    /**
+     * Nimmt ein Resultat wieder aus der Tabelle heraus. Es wird vorher geprüft, ob beide Teams
+     * das Resultat enthalten können; sonst bleibt die Tabelle unverändert.
+     * @throws IllegalArgumentException Wenn ein Team fehlt oder das Resultat nicht enthalten kann
+     */
+    public void revert(String home, String away, int homeGoals, int awayGoals) {
+        if (!contains(home, homeGoals, awayGoals) || !contains(away, awayGoals, homeGoals)) {
+            throw new IllegalArgumentException("Resultat nicht in der Tabelle: " + home + " - " + away
+                    + " " + homeGoals + ":" + awayGoals);
+        }
+        update(home, homeGoals, awayGoals, -1);
+        update(away, awayGoals, homeGoals, -1);
+    }
+
+    /**
+     * Setzt die Werte eines Teams direkt (z. B. aus bereits aggregierten Saisonwerten).
+     */
+    public void set(String team, int wins, int draws, int losses, int goalsFor, int goalsAgainst) {
+        Entry e = detach(team);
+        e.wins = wins;
+        e.draws = draws;
+        e.losses = losses;
+        e.goalsFor = goalsFor;
+        e.goalsAgainst = goalsAgainst;
+        ranking.add(e);
+    }
+
+    // true, wenn das Team mindestens ein solches Resultat und so viele Tore/Gegentore hat
+    private boolean contains(String team, int scored, int conceded) {
+        Entry e = byTeam.get(team);
+        if (e == null || e.goalsFor < scored || e.goalsAgainst < conceded) return false;
+        if (scored > conceded) return e.wins > 0;
+        if (scored == conceded) return e.draws > 0;
+        return e.losses > 0;
+    }
+
+    // Sign = +1 für apply, -1 für revert
+    private void update(String team, int scored, int conceded, int sign) {
+        Entry e = detach(team);
+        e.goalsFor += sign * scored;
+        e.goalsAgainst += sign * conceded;
+        if (scored > conceded) e.wins += sign;
+        else if (scored == conceded) e.draws += sign;
+        else e.losses += sign;
+        if (e.played() == 0 && e.goalsFor == 0 && e.goalsAgainst == 0) {
+            // Team hat keine Spiele mehr -> ganz entfernen
+            byTeam.remove(team);
+            return;
+        }
+        ranking.add(e);
+    }
+
+    // Holt die Zeile eines Teams und nimmt sie vor einer Änderung aus der Rangliste
+    private Entry detach(String team) {
+        Entry e = byTeam.get(team);
+        if (e == null) {
+            e = new Entry(team);
+            byTeam.put(team, e);
+        } else {
+            ranking.remove(e);
+        }
+        return e;
+    }
+
+    /**
+     * @return Die Tabellenzeile des Teams oder null
+     */
+    public Entry get(String team) {
+        return byTeam.get(team);
+    }
+
+    /**
+     * @return Rang des Teams (1 = Tabellenführer) oder 0, falls das Team fehlt
+     */
+    public int rank(String team) {
+        Entry e = byTeam.get(team);
+        return e == null ? 0 : ranking.countBefore(e) + 1;
+    }
+
+    /** @return Anzahl Teams in der Tabelle */
+    public int size() {
+        return byTeam.size();
+    }
+
+    /**
+     * @return Alle Zeilen in Tabellenreihenfolge (Kopie)
+     */
+    public List<Entry> ranking() {
+        List<Entry> entries = new ArrayList<>(byTeam.size());
+        ranking.addTo(entries);
+        return entries;
+    }
+
+    // Rangliste als Treap (Suchbaum nach Rang, Heap nach Zufallspriorität) mit Teilbaumgrössen:
+    // Einfügen, Entfernen und Anzahl besser platzierter Teams in erwartet O(log n)
+    private static final class RankTree {
+
+        private static final class Node {
+            final Entry entry;
+            final int priority;
+            Node left, right;
+            int size = 1;
+
+            Node(Entry entry, int priority) {
+                this.entry = entry;
+                this.priority = priority;
+            }
+        }
+
+        private final Comparator<Entry> order;
+        // Feste Saat: gleiche Eingaben ergeben denselben Baum
+        private final Random random = new Random(323);
+        private Node root;
+
+        RankTree(Comparator<Entry> order) {
+            this.order = order;
+        }
+
+        void add(Entry e) {
+            root = insert(root, new Node(e, random.nextInt()));
+        }
+
+        void remove(Entry e) {
+            root = delete(root, e);
+        }
+
+        // Anzahl Einträge vor e in der Rangliste
+        int countBefore(Entry e) {
+            int n = 0;
+            Node x = root;
+            while (x != null) {
+                int c = order.compare(e, x.entry);
+                if (c < 0) {
+                    x = x.left;
+                } else {
+                    n += size(x.left);
+                    if (c == 0) break;
+                    n++;
+                    x = x.right;
+                }
+            }
+            return n;
+        }
+
+        void addTo(List<Entry> out) {
+            addTo(root, out);
+        }
+
+        private void addTo(Node x, List<Entry> out) {
+            if (x == null) return;
+            addTo(x.left, out);
+            out.add(x.entry);
+            addTo(x.right, out);
+        }
+
+        private Node insert(Node t, Node n) {
+            if (t == null) return n;
+            if (n.priority > t.priority) {
+                Node[] parts = split(t, n.entry);
+                n.left = parts[0];
+                n.right = parts[1];
+                return update(n);
+            }
+            if (order.compare(n.entry, t.entry) < 0) t.left = insert(t.left, n);
+            else t.right = insert(t.right, n);
+            return update(t);
+        }
+
+        private Node delete(Node t, Entry e) {
+            if (t == null) return null;
+            int c = order.compare(e, t.entry);
+            if (c == 0) return merge(t.left, t.right);
+            if (c < 0) t.left = delete(t.left, e);
+            else t.right = delete(t.right, e);
+            return update(t);
+        }
+
+        // Teilt in {kleiner als key, grösser als key}
+        private Node[] split(Node t, Entry key) {
+            if (t == null) return new Node[2];
+            if (order.compare(t.entry, key) < 0) {
+                Node[] parts = split(t.right, key);
+                t.right = parts[0];
+                parts[0] = update(t);
+                return parts;
+            }
+            Node[] parts = split(t.left, key);
+            t.left = parts[1];
+            parts[1] = update(t);
+            return parts;
+        }
+
+        // Alle Einträge von a liegen vor denen von b
+        private Node merge(Node a, Node b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            if (a.priority > b.priority) {
+                a.right = merge(a.right, b);
+                return update(a);
+            }
+            b.left = merge(a, b.left);
+            return update(b);
+        }
+
+        private static int size(Node x) {
+            return x == null ? 0 : x.size;
+        }
+
+        private static Node update(Node x) {
+            x.size = 1 + size(x.left) + size(x.right);
+            return x;
+        }
+    }
+
+    /**
+     * Eine Tabellenzeile. Die Werte werden nur von {@link Standings} geändert.
+     */
+    public static class Entry {
+        public final String team;
+        private int wins, draws, losses, goalsFor, goalsAgainst;
+
+        Entry(String team) {
+            this.team = team;
+        }
+
+        public int wins() { return wins; }
+        public int draws() { return draws; }
+        public int losses() { return losses; }
+        public int goalsFor() { return goalsFor; }
+        public int goalsAgainst() { return goalsAgainst; }
+        public int goalDiff() { return goalsFor - goalsAgainst; }
+        public int points() { return wins * 3 + draws; }
+        public int played() { return wins + draws + losses; }
+    }
+}
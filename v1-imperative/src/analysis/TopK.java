@@ -0,0 +1,191 @@
+package analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Behält die besten K Elemente eines Datenstroms, ohne alles zu sortieren.
+ * Intern ein Min-Heap der Grösse K: das schlechteste behaltene Element liegt oben
+ * und wird verdrängt, sobald ein besseres kommt (O(log K) pro Element).
+ *
+ * Bei Gleichstand gewinnt das Element mit der kleineren Laufnummer (früher in der Datei),
+ * das Ergebnis entspricht damit einem stabilen Sortieren mit anschliessendem limit(K).
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ * @param <T> Typ der Elemente
+ */
+public class TopK<T> {
+
+    // Unterhalb dieser Grösse wird ein Bereich ohne weitere Aufteilung verarbeitet
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private final int k;
+    private final Comparator<? super T> order;
+
+    // Heap: Index 0 = schlechtestes behaltenes Element
+    private final Object[] items;
+    private final long[] seqs;
+    private int size;
+
+    /**
+     * @param k Anzahl zu behaltender Elemente
+     * @param order Reihenfolge, grösser = besser (z. B. nach Toren)
+     */
+    public TopK(int k, Comparator<? super T> order) {
+        this.k = k;
+        this.order = order;
+        this.items = new Object[k];
+        this.seqs = new long[k];
+    }
+
+    /**
+     * Bietet ein Element an.
+     * @param item Das Element
+     * @param seq Laufnummer für den Gleichstand (kleiner = früher = besser)
+     */
+    public void offer(T item, long seq) {
+        if (k == 0) return;
+        if (size < k) {
+            items[size] = item;
+            seqs[size] = seq;
+            siftUp(size++);
+        } else if (better(item, seq, itemAt(0), seqs[0])) {
+            items[0] = item;
+            seqs[0] = seq;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Übernimmt alle Elemente eines anderen TopK (z. B. Teilergebnis eines anderen Threads).
+     * @param other Das andere TopK mit gleichem K und gleicher Reihenfolge
+     */
+    public void merge(TopK<T> other) {
+        for (int i = 0; i < other.size; i++) offer(other.itemAt(i), other.seqs[i]);
+    }
+
+    /**
+     * @return Die behaltenen Elemente, bestes zuerst
+     */
+    public List<T> result() {
+        Integer[] idx = new Integer[size];
+        for (int i = 0; i < size; i++) idx[i] = i;
+        Arrays.sort(idx, (a, b) -> {
+            int c = order.compare(itemAt(b), itemAt(a));
+            return c != 0 ? c : Long.compare(seqs[a], seqs[b]);
+        });
+        List<T> out = new ArrayList<>(size);
+        for (Integer i : idx) out.add(itemAt(i));
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T itemAt(int i) {
+        return (T) items[i];
+    }
+
+    private boolean better(T a, long seqA, T b, long seqB) {
+        int c = order.compare(a, b);
+        if (c != 0) return c > 0;
+        return seqA < seqB;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!better(itemAt(parent), seqs[parent], itemAt(i), seqs[i])) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int worst = i;
+            int l = 2 * i + 1, r = l + 1;
+            if (l < size && better(itemAt(worst), seqs[worst], itemAt(l), seqs[l])) worst = l;
+            if (r < size && better(itemAt(worst), seqs[worst], itemAt(r), seqs[r])) worst = r;
+            if (worst == i) return;
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Object t = items[a]; items[a] = items[b]; items[b] = t;
+        long s = seqs[a]; seqs[a] = seqs[b]; seqs[b] = s;
+    }
+
+    /**
+     * Bestimmt die besten K Elemente für jede Partition auf einmal.
+     * Die Liste wird per Fork/Join in Bereiche aufgeteilt; jeder Bereich führt pro Partition
+     * ein eigenes TopK, danach werden die Teilergebnisse zusammengeführt.
+     * Als Laufnummer dient der Index in der Liste, daher ist das Ergebnis unabhängig von der Aufteilung.
+     *
+     * @param items Alle Elemente (z. B. Spielerstatistiken)
+     * @param partition Schlüssel der Partition (z. B. Liga und Saison)
+     * @param k Anzahl Elemente pro Partition
+     * @param order Reihenfolge, grösser = besser
+     * @return Partition -> beste Elemente (bestes zuerst)
+     */
+    public static <T, P> Map<P, List<T>> perPartition(List<T> items, Function<? super T, P> partition,
+                                                     int k, Comparator<? super T> order) {
+        Map<P, TopK<T>> merged = ForkJoinPool.commonPool()
+                .invoke(new PartitionTask<>(items, 0, items.size(), partition, k, order));
+        Map<P, List<T>> out = new HashMap<>();
+        for (Map.Entry<P, TopK<T>> e : merged.entrySet()) out.put(e.getKey(), e.getValue().result());
+        return out;
+    }
+
+    // Fork/Join-Aufgabe für den Bereich [from, to) der Liste (wird nie serialisiert)
+    @SuppressWarnings("serial")
+    private static class PartitionTask<T, P> extends RecursiveTask<Map<P, TopK<T>>> {
+        private final List<T> items;
+        private final int from, to;
+        private final Function<? super T, P> partition;
+        private final int k;
+        private final Comparator<? super T> order;
+
+        PartitionTask(List<T> items, int from, int to, Function<? super T, P> partition,
+                      int k, Comparator<? super T> order) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.partition = partition;
+            this.k = k;
+            this.order = order;
+        }
+
+        @Override
+        protected Map<P, TopK<T>> compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                Map<P, TopK<T>> local = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    T item = items.get(i);
+                    local.computeIfAbsent(partition.apply(item), p -> new TopK<>(k, order)).offer(item, i);
+                }
+                return local;
+            }
+            int mid = (from + to) >>> 1;
+            PartitionTask<T, P> left = new PartitionTask<>(items, from, mid, partition, k, order);
+            PartitionTask<T, P> right = new PartitionTask<>(items, mid, to, partition, k, order);
+            left.fork();
+            Map<P, TopK<T>> result = right.compute();
+            Map<P, TopK<T>> leftResult = left.join();
+            for (Map.Entry<P, TopK<T>> e : leftResult.entrySet()) {
+                TopK<T> existing = result.get(e.getKey());
+                if (existing == null) result.put(e.getKey(), e.getValue());
+                else existing.merge(e.getValue());
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package model;
+
+import java.io.IOException;
+
+/**
+ * Die Spalten von "matches.csv", die beim Laden gebraucht werden, über die Namen im Header bestimmt.
+ * Zusammen mit {@link util.MappedCsvReader#project(int)} wird eine Zeile nur bis zur letzten
+ * benötigten Spalte zerlegt; ohne Quoten endet das schon nach "AG" statt nach 25 Feldern.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class MatchColumns {
+
+    /** Spaltennamen der Grunddaten eines Spiels */
+    public static final String[] REQUIRED = {"League", "Season", "Date", "Time", "Home", "Away", "HG", "AG"};
+
+    /** Name der ersten Quotenspalte; die 15 Quotenspalten folgen direkt aufeinander */
+    public static final String FIRST_ODDS = "PSCH";
+
+    /** Feste Positionen wie in der mitgelieferten Datei (für Bereiche ohne Header) */
+    public static final MatchColumns DEFAULT = new MatchColumns(1, 2, 3, 4, 5, 6, 7, 8, MatchTable.FIRST_ODDS_COLUMN);
+
+    public final int league;
+    public final int season;
+    public final int date;
+    public final int time;
+    public final int home;
+    public final int away;
+    public final int homeGoals;
+    public final int awayGoals;
+
+    /** Erste Quotenspalte oder -1, wenn die Quoten nicht gelesen werden */
+    public final int firstOdds;
+
+    private MatchColumns(int league, int season, int date, int time, int home, int away,
+                         int homeGoals, int awayGoals, int firstOdds) {
+        this.league = league;
+        this.season = season;
+        this.date = date;
+        this.time = time;
+        this.home = home;
+        this.away = away;
+        this.homeGoals = homeGoals;
+        this.awayGoals = awayGoals;
+        this.firstOdds = firstOdds;
+    }
+
+    /**
+     * Sucht die benötigten Spalten im Header.
+     * @param header Die Spaltennamen aus der ersten Zeile
+     * @param withOdds true, wenn auch die Quotenspalten gelesen werden sollen
+     * @return Die Spaltenpositionen
+     * @throws IOException Wenn eine benötigte Spalte fehlt
+     */
+    public static MatchColumns of(String[] header, boolean withOdds) throws IOException {
+        int[] cols = new int[REQUIRED.length];
+        for (int k = 0; k < REQUIRED.length; k++) cols[k] = find(header, REQUIRED[k]);
+        int odds = withOdds ? find(header, FIRST_ODDS) : -1;
+        return new MatchColumns(cols[0], cols[1], cols[2], cols[3], cols[4], cols[5], cols[6], cols[7], odds);
+    }
+
+    private static int find(String[] header, String name) throws IOException {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i].trim().equals(name)) return i;
+        }
+        throw new IOException("Spalte fehlt in matches.csv: " + name);
+    }
+
+    /** @return true, wenn die Quotenspalten gelesen werden */
+    public boolean withOdds() {
+        return firstOdds >= 0;
+    }
+
+    /** @return Index der letzten Spalte, die gelesen werden muss */
+    public int last() {
+        int last = Math.max(Math.max(Math.max(league, season), Math.max(date, time)),
+                Math.max(Math.max(home, away), Math.max(homeGoals, awayGoals)));
+        return withOdds() ? Math.max(last, firstOdds + MatchTable.ODDS_COLUMNS - 1) : last;
+    }
+}
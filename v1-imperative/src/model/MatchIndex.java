@@ -0,0 +1,276 @@
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sekundärindizes einer {@link MatchTable}, beim Laden einmal aufgebaut:
+ * <ul>
+ *   <li>(Liga, Saison) -> Zeilen dieser Partition</li>
+ *   <li>Team -> Zeilen, in denen das Team zu Hause oder auswärts spielt</li>
+ *   <li>Zeitindex: alle Zeilen nach Anstosszeit sortiert (bei gleicher Zeit in Dateireihenfolge)</li>
+ * </ul>
+ * Die Zeilen liegen je Schlüssel zusammenhängend in einem Array (Offsets + Zeilennummern)
+ * und sind innerhalb eines Schlüssels in Dateireihenfolge sortiert.
+ * Abfragen kosten damit nur so viel wie die passenden Zeilen; Zeitbereiche werden per Binärsuche gefunden.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class MatchIndex {
+
+    // Partitionen (Reihenfolge des ersten Auftretens)
+    private final Map<Long, Integer> partitionIds = new HashMap<>();
+    private final int[] partitionLeague;
+    private final int[] partitionSeason;
+    private final int[] partitionStart;
+    private final int[] partitionRows;
+
+    // Teams (Index = Team-Id)
+    private final int[] teamStart;
+    private final int[] teamRows;
+
+    // Anzahl Spiele pro Liga (Index = Liga-Id)
+    private final long[] leagueMatches;
+
+    // Zeilen nach Anstosszeit sortiert und die zugehörigen Zeiten (für die Binärsuche)
+    private final int[] timeRows;
+    private final int[] times;
+
+    /**
+     * Baut die Indizes in zwei Durchläufen über die Tabelle auf.
+     * @param t Die Tabelle
+     */
+    public MatchIndex(MatchTable t) {
+        int n = t.size();
+
+        // 1. Durchlauf: Partition je Zeile bestimmen und zählen
+        int[] rowPartition = new int[n];
+        int[] leagueOf = new int[16];
+        int[] seasonOf = new int[16];
+        int[] count = new int[16];
+        int partitions = 0;
+        long lastKey = Long.MIN_VALUE;
+        int lastId = -1;
+        int[] teamCount = new int[t.teams().size() + 1];
+        leagueMatches = new long[t.leagues().size()];
+        for (int i = 0; i < n; i++) {
+            long key = key(t.league(i), t.season(i));
+            int id = lastId;
+            if (key != lastKey) {
+                Integer known = partitionIds.get(key);
+                if (known == null) {
+                    if (partitions == count.length) {
+                        leagueOf = Arrays.copyOf(leagueOf, partitions * 2);
+                        seasonOf = Arrays.copyOf(seasonOf, partitions * 2);
+                        count = Arrays.copyOf(count, partitions * 2);
+                    }
+                    id = partitions++;
+                    partitionIds.put(key, id);
+                    leagueOf[id] = t.league(i);
+                    seasonOf[id] = t.season(i);
+                } else {
+                    id = known;
+                }
+                lastKey = key;
+                lastId = id;
+            }
+            rowPartition[i] = id;
+            count[id]++;
+            leagueMatches[t.league(i)]++;
+            teamCount[t.homeTeam(i) + 1]++;
+            if (t.awayTeam(i) != t.homeTeam(i)) teamCount[t.awayTeam(i) + 1]++;
+        }
+        partitionLeague = Arrays.copyOf(leagueOf, partitions);
+        partitionSeason = Arrays.copyOf(seasonOf, partitions);
+
+        // Offsets berechnen
+        partitionStart = new int[partitions + 1];
+        for (int p = 0; p < partitions; p++) partitionStart[p + 1] = partitionStart[p] + count[p];
+        teamStart = teamCount;
+        for (int k = 1; k < teamStart.length; k++) teamStart[k] += teamStart[k - 1];
+
+        // 2. Durchlauf: Zeilennummern einsortieren (bleiben pro Schlüssel in Dateireihenfolge)
+        partitionRows = new int[n];
+        teamRows = new int[teamStart[teamStart.length - 1]];
+        int[] partitionFill = Arrays.copyOf(partitionStart, partitions);
+        int[] teamFill = Arrays.copyOf(teamStart, Math.max(0, teamStart.length - 1));
+        for (int i = 0; i < n; i++) {
+            partitionRows[partitionFill[rowPartition[i]]++] = i;
+            int h = t.homeTeam(i), a = t.awayTeam(i);
+            teamRows[teamFill[h]++] = i;
+            if (a != h) teamRows[teamFill[a]++] = i;
+        }
+
+        // Zeitindex: liegt die Datei schon chronologisch vor (Normalfall), ist keine Sortierung nötig
+        times = new int[n];
+        timeRows = new int[n];
+        boolean sorted = true;
+        for (int i = 0; i < n; i++) {
+            times[i] = t.kickoff(i);
+            timeRows[i] = i;
+            if (i > 0 && times[i] < times[i - 1]) sorted = false;
+        }
+        if (!sorted) {
+            // Zeit in den oberen, Zeile in den unteren 32 Bit: sortiert nach Zeit, bei Gleichstand nach Zeile
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) keys[i] = ((long) times[i] << 32) | i;
+            Arrays.sort(keys);
+            for (int k = 0; k < n; k++) {
+                timeRows[k] = (int) keys[k];
+                times[k] = (int) (keys[k] >> 32);
+            }
+        }
+    }
+
+    private static long key(int league, int season) {
+        return ((long) league << 32) | (season & 0xFFFFFFFFL);
+    }
+
+    /** @return Anzahl Partitionen (Liga/Saison-Kombinationen) */
+    public int partitionCount() {
+        return partitionLeague.length;
+    }
+
+    /** @return Liga-Id der Partition */
+    public int partitionLeague(int p) {
+        return partitionLeague[p];
+    }
+
+    /** @return Saison der Partition */
+    public int partitionSeason(int p) {
+        return partitionSeason[p];
+    }
+
+    /**
+     * @return Id der Partition oder -1, falls es keine Spiele dazu gibt
+     */
+    public int partition(int league, int season) {
+        Integer id = partitionIds.get(key(league, season));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return Zeilen der Partition in Dateireihenfolge
+     */
+    public int[] partitionRows(int p) {
+        return Arrays.copyOfRange(partitionRows, partitionStart[p], partitionStart[p + 1]);
+    }
+
+    /**
+     * @return Zeilen der Liga/Saison in Dateireihenfolge (leer, falls keine Spiele)
+     */
+    public int[] rows(int league, int season) {
+        int p = partition(league, season);
+        return p < 0 ? new int[0] : partitionRows(p);
+    }
+
+    /**
+     * Sammelt die Zeilen aller passenden Partitionen in Dateireihenfolge.
+     * @param league Liga-Id oder -1 für alle Ligen
+     * @param season Saison oder 0 für alle Saisons
+     * @return Die Zeilennummern
+     */
+    public int[] select(int league, int season) {
+        int total = 0;
+        int matched = 0;
+        for (int p = 0; p < partitionCount(); p++) {
+            if (matches(p, league, season)) {
+                total += partitionStart[p + 1] - partitionStart[p];
+                matched++;
+            }
+        }
+        int[] rows = new int[total];
+        int k = 0;
+        for (int p = 0; p < partitionCount(); p++) {
+            if (!matches(p, league, season)) continue;
+            int len = partitionStart[p + 1] - partitionStart[p];
+            System.arraycopy(partitionRows, partitionStart[p], rows, k, len);
+            k += len;
+        }
+        // Mehrere Partitionen können sich in der Datei abwechseln
+        if (matched > 1) Arrays.sort(rows);
+        return rows;
+    }
+
+    private boolean matches(int p, int league, int season) {
+        return (league < 0 || partitionLeague[p] == league) && (season == 0 || partitionSeason[p] == season);
+    }
+
+    /** @return Anzahl Spiele der Liga */
+    public long leagueMatches(int league) {
+        return league >= 0 && league < leagueMatches.length ? leagueMatches[league] : 0;
+    }
+
+    /**
+     * Neueste Saison einer Liga; prüft nur die Partitionen, nicht die Zeilen.
+     * @param league Liga-Id oder -1 für alle Ligen
+     * @return Die neueste Saison oder 0, falls keine Spiele vorhanden sind
+     */
+    public int latestSeason(int league) {
+        int max = 0;
+        boolean present = false;
+        for (int p = 0; p < partitionCount(); p++) {
+            if (league >= 0 && partitionLeague[p] != league) continue;
+            if (!present || partitionSeason[p] > max) { max = partitionSeason[p]; present = true; }
+        }
+        return present ? max : 0;
+    }
+
+    /**
+     * Spiele mit Anstosszeit im Bereich [from, to] (beide Grenzen eingeschlossen).
+     * @param from Früheste Zeit als {@link MatchTime}
+     * @param to Späteste Zeit als {@link MatchTime}
+     * @return Die Zeilen, chronologisch sortiert
+     */
+    public int[] between(int from, int to) {
+        if (to < from) return new int[0];
+        int lo = firstAtOrAfter(from);
+        int hi = to == Integer.MAX_VALUE ? times.length : firstAtOrAfter(to + 1);
+        return Arrays.copyOfRange(timeRows, lo, hi);
+    }
+
+    /**
+     * @return Alle Zeilen nach Anstosszeit sortiert (bei Gleichstand in Dateireihenfolge)
+     */
+    public int[] chronological() {
+        return timeRows.clone();
+    }
+
+    /**
+     * Die letzten N Spiele vor einem Zeitpunkt.
+     * @param time Zeitpunkt als {@link MatchTime} (Spiele genau zu dieser Zeit zählen nicht mehr dazu)
+     * @param n Maximale Anzahl Spiele
+     * @return Die Zeilen, chronologisch sortiert (ältestes zuerst)
+     */
+    public int[] lastBefore(int time, int n) {
+        int end = firstAtOrAfter(time);
+        int start = Math.max(0, end - Math.max(0, n));
+        return Arrays.copyOfRange(timeRows, start, end);
+    }
+
+    // Erste Position im Zeitindex mit Zeit >= time (Binärsuche)
+    private int firstAtOrAfter(int time) {
+        int lo = 0, hi = times.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (times[mid] < time) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** @return Anzahl Spiele des Teams (heim und auswärts) */
+    public int teamMatchCount(int team) {
+        return team >= 0 && team + 1 < teamStart.length ? teamStart[team + 1] - teamStart[team] : 0;
+    }
+
+    /**
+     * @return Zeilen, in denen das Team spielt, in Dateireihenfolge
+     */
+    public int[] teamRows(int team) {
+        if (teamMatchCount(team) == 0) return new int[0];
+        return Arrays.copyOfRange(teamRows, teamStart[team], teamStart[team + 1]);
+    }
+}
@@ -0,0 +1,222 @@
+package model;
+
+import util.Metrics;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Spiele aus vielen Dateien (z. B. eine pro Land und Saison), abgelegt in Partitionen nach (Liga, Saison).
+ *
+ * Laden: pro Datei eine Aufgabe in einem Threadpool mit fester Grösse; jede Aufgabe liest ihre
+ * Datei in eine eigene {@link MatchTable}. Enthält eine Datei genau eine Liga/Saison (Normalfall),
+ * wird ihre Tabelle unverändert zur Partition; sonst wird sie nach Liga/Saison aufgeteilt.
+ * Verteilt sich eine Liga/Saison auf mehrere Dateien, werden die Teile in Reihenfolge der
+ * Dateinamen zusammengefügt.
+ *
+ * Abfragen nach einer Liga/Saison lesen nur deren Partition; die Gesamttabelle ({@link #all()})
+ * wird erst beim ersten Zugriff zusammengesetzt.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class MatchStore {
+
+    // Partitionen in Reihenfolge des ersten Auftretens (Dateien nach Namen sortiert)
+    private final Map<Key, MatchTable> partitions;
+    private final int files;
+    private MatchTable all;
+
+    private MatchStore(Map<Key, MatchTable> partitions, int files) {
+        this.partitions = partitions;
+        this.files = files;
+    }
+
+    /**
+     * Bestimmt die Dateien zu einer Angabe wie "archiv/" oder "archiv/*.csv.gz".
+     * Ein Ordner liefert alle "*.csv" und "*.csv.gz" darin; sonst ist der Dateiname ein Glob-Muster
+     * (Platzhalter nur im Dateinamen, nicht im Ordner).
+     * @param spec Ordner oder Glob-Muster
+     * @return Die Dateien, nach Namen sortiert
+     * @throws IOException Wenn der Ordner nicht gelesen werden kann oder keine Datei passt
+     */
+    public static List<Path> files(String spec) throws IOException {
+        Path path = Paths.get(spec);
+        Path dir = Files.isDirectory(path) ? path : path.toAbsolutePath().getParent();
+        String glob = Files.isDirectory(path) ? "*.{csv,csv.gz}" : path.getFileName().toString();
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir, glob)) {
+            for (Path p : entries) {
+                if (Files.isRegularFile(p)) files.add(p);
+            }
+        }
+        if (files.isEmpty()) throw new IOException("Keine Dateien gefunden: " + spec);
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Lädt alle Dateien parallel, eine Aufgabe pro Datei.
+     * @param files Die Dateien (bestimmen die Reihenfolge beim Zusammenfügen)
+     * @param threads Maximale Anzahl gleichzeitig gelesener Dateien
+     * @param withOdds true, wenn die Quotenspalten gelesen werden sollen
+     * @return Der Speicher mit allen Partitionen
+     * @throws IOException Wenn eine Datei nicht gelesen werden kann
+     */
+    public static MatchStore load(List<Path> files, int threads, boolean withOdds) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, files.size())), Metrics.threadFactory());
+        try {
+            List<Future<MatchTable>> parts = new ArrayList<>();
+            for (Path file : files) {
+                parts.add(pool.submit(() -> MatchTable.load(file, withOdds)));
+            }
+
+            // In Dateireihenfolge einsortieren; mehrere Teile einer Partition werden zusammengefügt
+            Map<Key, List<MatchTable>> pieces = new LinkedHashMap<>();
+            for (Future<MatchTable> part : parts) {
+                MatchTable t = part.get();
+                MatchIndex index = t.index();
+                for (int p = 0; p < index.partitionCount(); p++) {
+                    Key key = new Key(t.leagueName(index.partitionLeague(p)), index.partitionSeason(p));
+                    int[] rows = index.partitionRows(p);
+                    MatchTable piece = index.partitionCount() == 1
+                            ? t
+                            : new MatchTable.Builder().reserve(rows.length).append(t, rows).build();
+                    pieces.computeIfAbsent(key, k -> new ArrayList<>()).add(piece);
+                }
+            }
+            Map<Key, MatchTable> partitions = new LinkedHashMap<>();
+            for (Map.Entry<Key, List<MatchTable>> e : pieces.entrySet()) {
+                partitions.put(e.getKey(), e.getValue().size() == 1 ? e.getValue().get(0) : merge(e.getValue()));
+            }
+            return new MatchStore(partitions, files.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Laden unterbrochen", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Fehler beim Laden der Dateien", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static MatchTable merge(Iterable<MatchTable> tables) {
+        int rows = 0;
+        for (MatchTable t : tables) rows += t.size();
+        MatchTable.Builder b = new MatchTable.Builder().reserve(rows);
+        for (MatchTable t : tables) b.append(t);
+        return b.build();
+    }
+
+    /** @return Anzahl gelesener Dateien */
+    public int fileCount() {
+        return files;
+    }
+
+    /** @return Die Schlüssel aller Partitionen in Reihenfolge des ersten Auftretens */
+    public List<Key> partitions() {
+        return new ArrayList<>(partitions.keySet());
+    }
+
+    /**
+     * Liefert die Spiele einer Liga/Saison, ohne andere Partitionen anzufassen.
+     * @param league Name der Liga
+     * @param season Saison (Startjahr)
+     * @return Die Tabelle der Partition oder null, falls es keine Spiele dazu gibt
+     */
+    public MatchTable partition(String league, int season) {
+        return partitions.get(new Key(league, season));
+    }
+
+    /** @return Die Tabellen aller Partitionen in Reihenfolge des ersten Auftretens */
+    public List<MatchTable> tables() {
+        return new ArrayList<>(partitions.values());
+    }
+
+    /**
+     * Neueste Saison einer Liga; prüft nur die Schlüssel, nicht die Zeilen.
+     * @param league Name der Liga
+     * @return Die neueste Saison oder 0, falls es keine Spiele der Liga gibt
+     */
+    public int latestSeason(String league) {
+        int max = 0;
+        boolean present = false;
+        for (Key k : partitions.keySet()) {
+            if (!k.league.equals(league)) continue;
+            if (!present || k.season > max) { max = k.season; present = true; }
+        }
+        return present ? max : 0;
+    }
+
+    /**
+     * Position der ersten Zeile einer Partition in {@link #all()} (die Partitionen liegen dort nacheinander).
+     * @param league Name der Liga
+     * @param season Saison (Startjahr)
+     * @return Die Zeilennummer in der Gesamttabelle oder -1, falls es die Partition nicht gibt
+     */
+    public int offsetInAll(String league, int season) {
+        Key key = new Key(league, season);
+        int offset = 0;
+        for (Map.Entry<Key, MatchTable> e : partitions.entrySet()) {
+            if (e.getKey().equals(key)) return offset;
+            offset += e.getValue().size();
+        }
+        return -1;
+    }
+
+    /**
+     * Alle Spiele in einer Tabelle (Partitionen nacheinander); wird beim ersten Aufruf zusammengesetzt.
+     * Nur für Auswertungen, die wirklich alle Spiele zusammen brauchen (z. B. chronologisch über alle Ligen).
+     * @return Die Gesamttabelle
+     */
+    public synchronized MatchTable all() {
+        if (all == null) {
+            all = partitions.size() == 1 ? partitions.values().iterator().next() : merge(partitions.values());
+        }
+        return all;
+    }
+
+    /**
+     * Schlüssel einer Partition.
+     */
+    public static class Key {
+        public final String league;
+        public final int season;
+
+        public Key(String league, int season) {
+            this.league = league;
+            this.season = season;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return season == k.season && league.equals(k.league);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(league, season);
+        }
+
+        @Override
+        public String toString() {
+            return league + " " + season;
+        }
+    }
+}
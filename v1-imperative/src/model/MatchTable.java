@@ -0,0 +1,450 @@
+package model;
+
+import util.MappedCsvReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Spaltenorientierte Ablage aller Spiele.
+ * Statt einem Match-Objekt pro Zeile wird jede Spalte als primitives Array gehalten;
+ * Liga-, Team- und Datumsnamen werden über ein {@link NameDictionary} auf int-Ids abgebildet.
+ * Die Analysen greifen über den Zeilenindex (0 bis size()-1) auf die Werte zu.
+ *
+ * Datum und Anstosszeit liegen zusätzlich als {@link MatchTime} (Minuten seit 1970) vor.
+ * Die 15 Quotenspalten liegen als float-Arrays vor (eines pro Spalte);
+ * fehlende Quoten (z. B. leere BFE/B365-Felder) sind {@code Float.NaN}.
+ * Wurden keine Quoten geladen, gibt es die Arrays gar nicht und alle Quoten sind NaN.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class MatchTable {
+
+    /** Anbieter der Quoten in Reihenfolge der CSV-Spalten, je drei Spalten (Heim, Unentschieden, Auswärts) */
+    public static final String[] BOOKMAKERS = {"PS", "Max", "Avg", "BFE", "B365"};
+
+    /** Ausgang innerhalb der drei Quotenspalten eines Anbieters */
+    public static final int HOME = 0, DRAW = 1, AWAY = 2;
+
+    // Erste Quotenspalte in matches.csv (PSCH) und Anzahl Quotenspalten
+    static final int FIRST_ODDS_COLUMN = 10;
+    static final int ODDS_COLUMNS = 15;
+
+    // Wörterbücher für Ligen, Teams und Daten
+    private final NameDictionary leagues;
+    private final NameDictionary teams;
+    private final NameDictionary dates;
+
+    // Anzahl Zeilen
+    private final int size;
+
+    // Spalten (Index = Zeile)
+    private final int[] league;
+    private final short[] season;
+    private final int[] date;
+    private final int[] homeTeam;
+    private final int[] awayTeam;
+    private final short[] homeGoals;
+    private final short[] awayGoals;
+    private final int[] kickoff;
+
+    // Quoten (erster Index = Quotenspalte, zweiter = Zeile; NaN = fehlt), null ohne Quoten
+    private final float[][] odds;
+
+    // Sekundärindizes (Liga/Saison, Team), erst beim ersten Zugriff aufgebaut: Teiltabellen
+    // (Ladebereiche, Dateien vor dem Zusammenfügen) brauchen meist keinen
+    private volatile MatchIndex index;
+
+    private MatchTable(Builder b) {
+        this.leagues = b.leagues;
+        this.teams = b.teams;
+        this.dates = b.dates;
+        this.size = b.size;
+        // Passt die Kapazität genau (z. B. nach reserve()), werden die Arrays übernommen statt kopiert;
+        // der Builder legt vor dem nächsten Hinzufügen ohnehin neue an
+        boolean exact = b.league.length == b.size;
+        this.league = exact ? b.league : Arrays.copyOf(b.league, b.size);
+        this.season = exact ? b.season : Arrays.copyOf(b.season, b.size);
+        this.date = exact ? b.date : Arrays.copyOf(b.date, b.size);
+        this.homeTeam = exact ? b.homeTeam : Arrays.copyOf(b.homeTeam, b.size);
+        this.awayTeam = exact ? b.awayTeam : Arrays.copyOf(b.awayTeam, b.size);
+        this.homeGoals = exact ? b.homeGoals : Arrays.copyOf(b.homeGoals, b.size);
+        this.awayGoals = exact ? b.awayGoals : Arrays.copyOf(b.awayGoals, b.size);
+        this.kickoff = exact ? b.kickoff : Arrays.copyOf(b.kickoff, b.size);
+        if (b.odds != null) {
+            this.odds = new float[ODDS_COLUMNS][];
+            for (int c = 0; c < ODDS_COLUMNS; c++) this.odds[c] = exact ? b.odds[c] : Arrays.copyOf(b.odds[c], b.size);
+        } else {
+            this.odds = null;
+        }
+    }
+
+    // Für Snapshot: Tabelle direkt aus fertigen Spalten erstellen (odds = null ohne Quoten)
+    MatchTable(NameDictionary leagues, NameDictionary teams, NameDictionary dates, int size,
+               int[] league, short[] season, int[] date, int[] homeTeam, int[] awayTeam,
+               short[] homeGoals, short[] awayGoals, int[] kickoff, float[][] odds) {
+        this.leagues = leagues;
+        this.teams = teams;
+        this.dates = dates;
+        this.size = size;
+        this.league = league;
+        this.season = season;
+        this.date = date;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.homeGoals = homeGoals;
+        this.awayGoals = awayGoals;
+        this.kickoff = kickoff;
+        this.odds = odds;
+    }
+
+    /**
+     * Erstellt eine Tabelle aus CSV-Zeilen (Format wie bei {@link Match#fromCsv(String[])}).
+     * @param rows Die CSV-Zeilen ohne Header
+     * @return Die neue Tabelle
+     */
+    public static MatchTable fromCsv(Iterable<String[]> rows) {
+        Builder b = new Builder();
+        for (String[] cols : rows) b.addCsv(cols);
+        return b.build();
+    }
+
+    /**
+     * Lädt "matches.csv" direkt über den {@link MappedCsvReader}.
+     * Es entstehen keine Zeilen-Strings; Namen werden pro verschiedenem Wert nur einmal dekodiert.
+     * @param path Pfad zur CSV-Datei
+     * @return Die neue Tabelle
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static MatchTable load(Path path) throws IOException {
+        return load(path, true);
+    }
+
+    /**
+     * Lädt "matches.csv" und liest dabei nur die benötigten Spalten (über die Header-Namen bestimmt).
+     * Ohne Quoten wird jede Zeile nach der Spalte "AG" nicht mehr zerlegt; die Quoten sind dann NaN.
+     * @param path Pfad zur CSV-Datei
+     * @param withOdds true, wenn die Quotenspalten gelesen werden sollen
+     * @return Die neue Tabelle
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder eine Spalte fehlt
+     */
+    public static MatchTable load(Path path, boolean withOdds) throws IOException {
+        Builder b = new Builder();
+        try (MappedCsvReader r = MappedCsvReader.open(path)) {
+            MatchColumns cols = MatchColumns.of(r.header(), withOdds);
+            r.project(cols.last());
+            while (r.next()) b.addRow(r, cols);
+        }
+        return b.build();
+    }
+
+    /** @return Anzahl Spiele */
+    public int size() { return size; }
+
+    /** @return Indizes nach Liga/Saison und Team */
+    public MatchIndex index() {
+        MatchIndex i = index;
+        if (i == null) {
+            synchronized (this) {
+                i = index;
+                if (i == null) index = i = new MatchIndex(this);
+            }
+        }
+        return i;
+    }
+
+    /** @return Wörterbuch der Ligen */
+    public NameDictionary leagues() { return leagues; }
+
+    /** @return Wörterbuch der Teams */
+    public NameDictionary teams() { return teams; }
+
+    // Für Snapshot: Wörterbuch der Daten und Datums-Id einer Zeile
+    NameDictionary dates() { return dates; }
+    int dateId(int row) { return date[row]; }
+
+    /** @return Liga-Id der Zeile */
+    public int league(int row) { return league[row]; }
+
+    /** @return Saison (Startjahr) der Zeile */
+    public int season(int row) { return season[row]; }
+
+    /** @return Datum der Zeile als Text */
+    public String date(int row) { return dates.name(date[row]); }
+
+    /** @return Team-Id der Heimmannschaft */
+    public int homeTeam(int row) { return homeTeam[row]; }
+
+    /** @return Team-Id der Auswärtsmannschaft */
+    public int awayTeam(int row) { return awayTeam[row]; }
+
+    /** @return Tore der Heimmannschaft */
+    public int homeGoals(int row) { return homeGoals[row]; }
+
+    /** @return Tore der Auswärtsmannschaft */
+    public int awayGoals(int row) { return awayGoals[row]; }
+
+    /** @return Anstosszeit der Zeile als {@link MatchTime} (Minuten seit 1970, {@link MatchTime#MISSING} ohne gültiges Datum) */
+    public int kickoff(int row) { return kickoff[row]; }
+
+    /**
+     * Dezimalquote eines Anbieters für einen Ausgang.
+     * @param bookmaker Index in {@link #BOOKMAKERS}
+     * @param outcome {@link #HOME}, {@link #DRAW} oder {@link #AWAY}
+     * @param row Der Zeilenindex
+     * @return Die Quote oder {@code Float.NaN}, falls sie fehlt
+     */
+    public float odds(int bookmaker, int outcome, int row) { return oddsAt(bookmaker * 3 + outcome, row); }
+
+    /** @return true, wenn Quotenspalten geladen wurden */
+    public boolean hasOdds() { return odds != null; }
+
+    // Für Snapshot: Quotenspalte c (0 bis 14) einer Zeile
+    float oddsAt(int c, int row) { return odds != null ? odds[c][row] : Float.NaN; }
+
+    /** @return Name der Liga mit dieser Id */
+    public String leagueName(int id) { return leagues.name(id); }
+
+    /** @return Name des Teams mit dieser Id */
+    public String teamName(int id) { return teams.name(id); }
+
+    /**
+     * Erstellt für eine einzelne Zeile wieder ein Match-Objekt (z. B. für Ausgaben).
+     * @param row Der Zeilenindex
+     * @return Ein neues Match-Objekt
+     */
+    public Match toMatch(int row) {
+        return new Match(date(row), season(row), leagueName(league[row]),
+                teamName(homeTeam[row]), teamName(awayTeam[row]),
+                homeGoals[row], awayGoals[row], 0, 0, 0, 0);
+    }
+
+    /**
+     * Baut eine MatchTable zeilenweise auf. Die Arrays wachsen bei Bedarf.
+     */
+    public static class Builder {
+
+        private final NameDictionary leagues = new NameDictionary();
+        private final NameDictionary teams = new NameDictionary();
+        private final NameDictionary dates = new NameDictionary();
+
+        private int size = 0;
+        private int[] league = new int[1024];
+        private short[] season = new short[1024];
+        private int[] date = new int[1024];
+        private int[] homeTeam = new int[1024];
+        private int[] awayTeam = new int[1024];
+        private short[] homeGoals = new short[1024];
+        private short[] awayGoals = new short[1024];
+        private int[] kickoff = new int[1024];
+
+        // Quotenspalten erst beim ersten Spiel mit Quoten anlegen (ohne Quoten ca. 60 Bytes weniger pro Zeile)
+        private float[][] odds;
+
+        // Epochentag je Datums-Id: jedes verschiedene Datum wird nur einmal geparst
+        private static final int UNPARSED = Integer.MAX_VALUE;
+        private int[] dayOfDate = new int[0];
+
+        /** Erstellt einen leeren Builder. */
+        public Builder() {
+        }
+
+        // Legt die Quotenspalten in der aktuellen Kapazität an; bisherige Zeilen bleiben ohne Quoten (NaN)
+        private void ensureOdds() {
+            if (odds != null) return;
+            odds = new float[ODDS_COLUMNS][];
+            for (int c = 0; c < ODDS_COLUMNS; c++) {
+                odds[c] = new float[league.length];
+                Arrays.fill(odds[c], Float.NaN);
+            }
+        }
+
+        /**
+         * Fügt eine Zeile aus "matches.csv" hinzu.
+         * @param cols Die einzelnen Werte aus der CSV-Zeile
+         * @return Dieser Builder
+         */
+        public Builder addCsv(String[] cols) {
+            // Spalten wie in Match.fromCsv: 1: League, 2: Season, 3: Date, 5: Home, 6: Away, 7: HG, 8: AG
+            add(cols[1].trim(), Match.parseSeason(cols[2]), cols[3].trim(),
+                    cols[5].trim(), cols[6].trim(),
+                    Match.parseIntSafe(cols[7]), Match.parseIntSafe(cols[8]));
+            addTime(cols[4]);
+            // Quoten ab Spalte 10; leere Felder am Zeilenende fehlen nach split(",") ganz
+            int last = Math.min(cols.length, FIRST_ODDS_COLUMN + ODDS_COLUMNS);
+            if (last > FIRST_ODDS_COLUMN) ensureOdds();
+            for (int col = FIRST_ODDS_COLUMN; col < last; col++) {
+                odds[col - FIRST_ODDS_COLUMN][size - 1] = Match.parseFloatSafe(cols[col]);
+            }
+            return this;
+        }
+
+        /**
+         * Fügt die aktuelle Zeile eines {@link MappedCsvReader} hinzu (gleiche Spalten wie {@link #addCsv}).
+         * @param r Reader, der auf einer Datenzeile steht
+         * @return Dieser Builder
+         */
+        public Builder addRow(MappedCsvReader r) {
+            return addRow(r, MatchColumns.DEFAULT);
+        }
+
+        /**
+         * Fügt die aktuelle Zeile eines {@link MappedCsvReader} hinzu und liest dabei nur die angegebenen Spalten.
+         * @param r Reader, der auf einer Datenzeile steht
+         * @param cols Positionen der Spalten; ohne Quotenspalte bleiben die Quoten NaN
+         * @return Dieser Builder
+         */
+        public Builder addRow(MappedCsvReader r, MatchColumns cols) {
+            add(r.internedAt(cols.league), r.intBefore(cols.season, '/'), r.internedAt(cols.date),
+                    r.internedAt(cols.home), r.internedAt(cols.away), r.intAt(cols.homeGoals), r.intAt(cols.awayGoals));
+            addTime(r.internedAt(cols.time));
+            if (cols.withOdds()) {
+                ensureOdds();
+                for (int c = 0; c < ODDS_COLUMNS; c++) odds[c][size - 1] = r.floatAt(cols.firstOdds + c);
+            }
+            return this;
+        }
+
+        /**
+         * Fügt ein Spiel hinzu (ohne Quoten).
+         * @return Dieser Builder
+         */
+        public Builder add(String leagueName, int seasonYear, String dateText,
+                           String home, String away, int hg, int ag) {
+            if (size == league.length) grow();
+            league[size] = leagues.idOf(leagueName);
+            season[size] = (short) seasonYear;
+            date[size] = dates.idOf(dateText);
+            homeTeam[size] = teams.idOf(home);
+            awayTeam[size] = teams.idOf(away);
+            homeGoals[size] = (short) hg;
+            awayGoals[size] = (short) ag;
+            kickoff[size] = MatchTime.pack(dayOf(date[size], dateText), 0);
+            size++;
+            return this;
+        }
+
+        // Anstosszeit ("HH:mm", Spalte 4) zur zuletzt hinzugefügten Zeile ergänzen
+        private void addTime(String time) {
+            int row = size - 1;
+            if (kickoff[row] != MatchTime.MISSING) kickoff[row] += MatchTime.parseMinuteOfDay(time);
+        }
+
+        private int dayOf(int dateId, String dateText) {
+            if (dateId >= dayOfDate.length) {
+                int old = dayOfDate.length;
+                dayOfDate = Arrays.copyOf(dayOfDate, Math.max(dateId + 1, old * 2));
+                Arrays.fill(dayOfDate, old, dayOfDate.length, UNPARSED);
+            }
+            if (dayOfDate[dateId] == UNPARSED) dayOfDate[dateId] = MatchTime.parseDate(dateText);
+            return dayOfDate[dateId];
+        }
+
+        /**
+         * Hängt alle Zeilen einer anderen Tabelle an (z. B. Teilergebnis eines Parallel-Ladevorgangs).
+         * Die Ids der anderen Tabelle werden auf die Wörterbücher dieses Builders umgeschlüsselt;
+         * werden die Teile in Dateireihenfolge angehängt, bleibt die Reihenfolge des ersten Auftretens erhalten.
+         * @param part Die anzuhängende Tabelle
+         * @return Dieser Builder
+         */
+        public Builder append(MatchTable part) {
+            int[] leagueIds = remap(part.leagues, leagues);
+            int[] teamIds = remap(part.teams, teams);
+            int[] dateIds = remap(part.dates, dates);
+            while (size + part.size > league.length) grow();
+            for (int i = 0; i < part.size; i++) {
+                int row = size + i;
+                league[row] = leagueIds[part.league[i]];
+                season[row] = part.season[i];
+                date[row] = dateIds[part.date[i]];
+                homeTeam[row] = teamIds[part.homeTeam[i]];
+                awayTeam[row] = teamIds[part.awayTeam[i]];
+                homeGoals[row] = part.homeGoals[i];
+                awayGoals[row] = part.awayGoals[i];
+            }
+            System.arraycopy(part.kickoff, 0, kickoff, size, part.size);
+            if (part.odds != null) {
+                ensureOdds();
+                for (int c = 0; c < ODDS_COLUMNS; c++) System.arraycopy(part.odds[c], 0, odds[c], size, part.size);
+            }
+            size += part.size;
+            return this;
+        }
+
+        /**
+         * Hängt ausgewählte Zeilen einer anderen Tabelle an (z. B. eine Partition daraus).
+         * @param part Die Quelltabelle
+         * @param rows Die Zeilen in der gewünschten Reihenfolge
+         * @return Dieser Builder
+         */
+        public Builder append(MatchTable part, int[] rows) {
+            int[] leagueIds = remap(part.leagues, leagues);
+            int[] teamIds = remap(part.teams, teams);
+            int[] dateIds = remap(part.dates, dates);
+            while (size + rows.length > league.length) grow();
+            if (part.odds != null) ensureOdds();
+            for (int k = 0; k < rows.length; k++) {
+                int i = rows[k];
+                int row = size + k;
+                league[row] = leagueIds[part.league[i]];
+                season[row] = part.season[i];
+                date[row] = dateIds[part.date[i]];
+                homeTeam[row] = teamIds[part.homeTeam[i]];
+                awayTeam[row] = teamIds[part.awayTeam[i]];
+                homeGoals[row] = part.homeGoals[i];
+                awayGoals[row] = part.awayGoals[i];
+                kickoff[row] = part.kickoff[i];
+                if (part.odds != null) {
+                    for (int c = 0; c < ODDS_COLUMNS; c++) odds[c][row] = part.odds[c][i];
+                }
+            }
+            size += rows.length;
+            return this;
+        }
+
+        private static int[] remap(NameDictionary from, NameDictionary to) {
+            int[] ids = new int[from.size()];
+            for (int id = 0; id < ids.length; id++) ids[id] = to.idOf(from.name(id));
+            return ids;
+        }
+
+        /**
+         * Stellt Platz für weitere Zeilen bereit, z. B. vor dem Zusammenfügen von Teilen bekannter Grösse.
+         * Ist die Kapazität danach genau ausgeschöpft, übernimmt {@link #build()} die Arrays ohne Kopie.
+         * @param rows Anzahl Zeilen, die noch hinzukommen
+         * @return Dieser Builder
+         */
+        public Builder reserve(int rows) {
+            if (size + rows > league.length) resize(size + rows);
+            return this;
+        }
+
+        private void grow() {
+            resize(league.length * 2);
+        }
+
+        private void resize(int cap) {
+            league = Arrays.copyOf(league, cap);
+            season = Arrays.copyOf(season, cap);
+            date = Arrays.copyOf(date, cap);
+            homeTeam = Arrays.copyOf(homeTeam, cap);
+            awayTeam = Arrays.copyOf(awayTeam, cap);
+            homeGoals = Arrays.copyOf(homeGoals, cap);
+            awayGoals = Arrays.copyOf(awayGoals, cap);
+            kickoff = Arrays.copyOf(kickoff, cap);
+            if (odds == null) return;
+            for (int c = 0; c < ODDS_COLUMNS; c++) {
+                int old = odds[c].length;
+                odds[c] = Arrays.copyOf(odds[c], cap);
+                Arrays.fill(odds[c], old, cap, Float.NaN);
+            }
+        }
+
+        /** @return Die fertige Tabelle (Arrays auf die tatsächliche Grösse gekürzt) */
+        public MatchTable build() {
+            return new MatchTable(this);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package model;
+
+/**
+ * Anstosszeit eines Spiels als einzelner int: Minuten seit 01.01.1970 00:00
+ * (Epochentag * 1440 + Minute des Tages). Damit lassen sich Spiele direkt
+ * vergleichen, sortieren und per Binärsuche in Zeitbereichen finden.
+ *
+ * Die Parser sind von Hand geschrieben (ohne {@code DateTimeFormatter}) und werden
+ * pro Zeile bzw. pro verschiedenem Datum aufgerufen.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public final class MatchTime {
+
+    /** Markiert ein fehlendes oder ungültiges Datum (liegt vor allen gültigen Zeiten) */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private MatchTime() {
+    }
+
+    /**
+     * Liest ein Datum im Format "dd/MM/yyyy" (auch "d/M/yyyy" und zweistellige Jahre, z. B. "13/07/12").
+     * @param text Das Datum
+     * @return Tage seit 01.01.1970 oder {@link #MISSING}
+     */
+    public static int parseDate(String text) {
+        String t = text.trim();
+        int s1 = t.indexOf('/');
+        int s2 = t.indexOf('/', s1 + 1);
+        if (s1 < 0 || s2 < 0 || t.indexOf('/', s2 + 1) >= 0) return MISSING;
+        int day = digits(t, 0, s1);
+        int month = digits(t, s1 + 1, s2);
+        int year = digits(t, s2 + 1, t.length());
+        if (day < 0 || month < 0 || year < 0) return MISSING;
+        if (t.length() - s2 - 1 <= 2) year += year < 70 ? 2000 : 1900;
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) return MISSING;
+        return epochDay(year, month, day);
+    }
+
+    /**
+     * Liest eine Uhrzeit im Format "HH:mm".
+     * @param text Die Uhrzeit
+     * @return Minute des Tages (0 bis 1439); 0, falls die Zeit fehlt oder ungültig ist
+     */
+    public static int parseMinuteOfDay(String text) {
+        String t = text.trim();
+        int colon = t.indexOf(':');
+        if (colon < 0 || t.length() != colon + 3) return 0;
+        int h = digits(t, 0, colon);
+        int m = digits(t, colon + 1, t.length());
+        if (h < 0 || h > 23 || m < 0 || m > 59) return 0;
+        return h * 60 + m;
+    }
+
+    /**
+     * Fasst Tag und Minute zusammen.
+     * @param epochDay Tage seit 01.01.1970 oder {@link #MISSING}
+     * @param minuteOfDay Minute des Tages
+     * @return Minuten seit 01.01.1970 oder {@link #MISSING}
+     */
+    public static int pack(int epochDay, int minuteOfDay) {
+        if (epochDay == MISSING) return MISSING;
+        return epochDay * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    /**
+     * Liest Datum und Uhrzeit, z. B. für Abfragegrenzen ("13/07/2012" oder "13/07/2012 18:45").
+     * @param text Datum, optional gefolgt von einem Leerzeichen und der Uhrzeit
+     * @return Minuten seit 01.01.1970 oder {@link #MISSING}
+     */
+    public static int parse(String text) {
+        String t = text.trim();
+        int space = t.indexOf(' ');
+        if (space < 0) return pack(parseDate(t), 0);
+        return pack(parseDate(t.substring(0, space)), parseMinuteOfDay(t.substring(space + 1)));
+    }
+
+    /** @return Tage seit 01.01.1970 */
+    public static int epochDay(int packed) {
+        return Math.floorDiv(packed, MINUTES_PER_DAY);
+    }
+
+    /** @return Minute des Tages */
+    public static int minuteOfDay(int packed) {
+        return Math.floorMod(packed, MINUTES_PER_DAY);
+    }
+
+    /**
+     * Gibt eine Zeit wieder als "dd/MM/yyyy HH:mm" aus.
+     * @param packed Minuten seit 01.01.1970
+     * @return Der Text ("" bei {@link #MISSING})
+     */
+    public static String format(int packed) {
+        if (packed == MISSING) return "";
+        // Umkehrung von epochDay (Algorithmus "civil from days")
+        int z = epochDay(packed) + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int doe = z - era * 146097;
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        int minute = minuteOfDay(packed);
+        return two(day) + "/" + two(month) + "/" + year + " " + two(minute / 60) + ":" + two(minute % 60);
+    }
+
+    // Tage seit 01.01.1970 für ein Datum im gregorianischen Kalender (Algorithmus "days from civil")
+    static int epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2: return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4: case 6: case 9: case 11: return 30;
+            default: return 31;
+        }
+    }
+
+    // Ziffern im Bereich [from, to) als Zahl (1 bis 4 Ziffern), sonst -1
+    private static int digits(String t, int from, int to) {
+        if (to <= from || to - from > 4) return -1;
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = t.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static String two(int v) {
+        return v < 10 ? "0" + v : String.valueOf(v);
+    }
+}
@@ -0,0 +1,62 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wörterbuch für Namen (Teams, Ligen, Daten).
+ * Jeder Name bekommt beim ersten Auftreten eine fortlaufende Id (0, 1, 2, ...),
+ * dadurch wird jeder Name nur einmal im Speicher gehalten.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class NameDictionary {
+
+    // Name -> Id
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    // Id -> Name (Reihenfolge = erstes Auftreten)
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Liefert die Id eines Namens und legt ihn bei Bedarf neu an.
+     * @param name Der Name
+     * @return Die Id des Namens
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        int next = names.size();
+        ids.put(name, next);
+        names.add(name);
+        return next;
+    }
+
+    /**
+     * Sucht die Id eines Namens, ohne ihn anzulegen.
+     * @param name Der Name
+     * @return Die Id oder -1, falls der Name unbekannt ist
+     */
+    public int find(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id Die Id
+     * @return Der Name zur Id
+     */
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * @return Anzahl verschiedener Namen
+     */
+    public int size() {
+        return names.size();
+    }
+}
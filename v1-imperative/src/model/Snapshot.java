@@ -0,0 +1,410 @@
+package model;
+
+import util.CsvUtil;
+import util.ParallelMatchLoader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binärer Zwischenspeicher ("Snapshot") für bereits eingelesene CSV-Dateien.
+ * Beim ersten Lauf wird die CSV-Datei geparst und daneben eine Datei "*.snap" geschrieben.
+ * Spätere Läufe blenden den Snapshot per {@link FileChannel#map} ein (bei über 1 GB in Fenstern)
+ * und kopieren die Spalten blockweise in die Arrays der {@link MatchTable}, ohne den Text erneut zu parsen.
+ * Abfragen laufen also auf Kopien im Heap und nicht direkt auf der eingeblendeten Datei; ein Datensatz
+ * muss daher weiterhin in den Heap passen (der Snapshot spart das Parsen, nicht den Speicher).
+ *
+ * Ein Snapshot ist nur gültig, wenn Formatversion und Dateigrösse der CSV-Datei übereinstimmen.
+ * Stimmt auch die Änderungszeit, wird die CSV-Datei gar nicht gelesen; weicht nur die Änderungszeit ab
+ * (z. B. nach Kopieren), entscheidet die Prüfsumme (CRC32C) über den ganzen Inhalt.
+ * Sonst wird neu geparst und überschrieben.
+ * Wurden die Spiele ohne Quoten geladen, enthält auch der Snapshot keine Quoten; verlangt ein
+ * späterer Lauf die Quoten, wird die CSV-Datei einmal vollständig geparst und der Snapshot ersetzt.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class Snapshot {
+
+    // Dateikennung und Formatversion (bei Formatänderungen erhöhen)
+    private static final long MAGIC = 0x4D3332335F534E50L; // "M323_SNP"
+    private static final int VERSION = 4;
+
+    // Art des Inhalts
+    private static final int KIND_MATCHES = 1;
+    private static final int KIND_PLAYERS = 2;
+
+    // Kopfgrösse: Magic, Version, Art, Grösse, Änderungszeit, Prüfsumme
+    private static final int HEADER_BYTES = 8 + 4 + 4 + 8 + 8 + 8;
+
+    /**
+     * Lädt "matches.csv" samt Quoten aus dem Snapshot oder parst die Datei und legt den Snapshot an.
+     * @param csv Pfad zur CSV-Datei
+     * @return Die Spieltabelle
+     * @throws IOException Wenn die CSV-Datei nicht gelesen werden kann
+     */
+    public static MatchTable matches(Path csv) throws IOException {
+        return matches(csv, true);
+    }
+
+    /**
+     * Lädt "matches.csv" aus dem Snapshot oder parst die Datei und legt den Snapshot an.
+     * @param csv Pfad zur CSV-Datei
+     * @param withOdds false, wenn die Quoten nicht gebraucht werden (beim Parsen werden die Quotenspalten übersprungen)
+     * @return Die Spieltabelle
+     * @throws IOException Wenn die CSV-Datei nicht gelesen werden kann
+     */
+    public static MatchTable matches(Path csv, boolean withOdds) throws IOException {
+        return matches(csv, withOdds, Files.size(csv));
+    }
+
+    /**
+     * Lädt nur die ersten {@code end} Bytes von "matches.csv" (für --follow: alles danach liefert
+     * {@link util.CsvTail}). Der Snapshot gilt dann für genau diesen Anfang der Datei.
+     * @param csv Pfad zur CSV-Datei
+     * @param withOdds false, wenn die Quoten nicht gebraucht werden
+     * @param end Ende des geladenen Bereichs (exklusiv, an einem Zeilenanfang)
+     * @return Die Spieltabelle
+     * @throws IOException Wenn die CSV-Datei nicht gelesen werden kann
+     */
+    public static MatchTable matches(Path csv, boolean withOdds, long end) throws IOException {
+        Path snap = snapshotPath(csv);
+        Source source = Source.of(csv, end);
+        MatchTable cached = read(snap, source, KIND_MATCHES, in -> readMatches(in, withOdds));
+        if (cached != null) return cached;
+
+        MatchTable table = ParallelMatchLoader.load(csv, Runtime.getRuntime().availableProcessors(), withOdds, end);
+        write(snap, source, KIND_MATCHES, out -> writeMatches(out, table, withOdds));
+        return table;
+    }
+
+    /**
+     * Lädt "players.csv" aus dem Snapshot oder parst die Datei und legt den Snapshot an.
+     * @param csv Pfad zur CSV-Datei
+     * @return Die Spielerstatistiken in Dateireihenfolge
+     * @throws IOException Wenn die CSV-Datei nicht gelesen werden kann
+     */
+    public static List<PlayerStat> players(Path csv) throws IOException {
+        Path snap = snapshotPath(csv);
+        Source source = Source.of(csv);
+        List<PlayerStat> cached = read(snap, source, KIND_PLAYERS, Snapshot::readPlayers);
+        if (cached != null) return cached;
+
+        List<PlayerStat> players = new ArrayList<>();
+        CsvUtil.forEachRow(csv.toString(), row -> players.add(PlayerStat.fromCsv(row)));
+        write(snap, source, KIND_PLAYERS, out -> writePlayers(out, players));
+        return players;
+    }
+
+    private static Path snapshotPath(Path csv) {
+        return csv.resolveSibling(csv.getFileName() + ".snap");
+    }
+
+    // --- Gültigkeit ---
+
+    // Kenndaten der CSV-Datei (bzw. ihres geladenen Anfangs), gegen die ein Snapshot geprüft wird.
+    // Die Prüfsumme liest die ganze Datei und wird daher erst berechnet, wenn sie gebraucht wird.
+    private static class Source {
+        final Path csv;
+        final long size;
+        final long modified;
+        private long hash;
+        private boolean hashed;
+
+        Source(Path csv, long size, long modified) {
+            this.csv = csv;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        static Source of(Path csv) throws IOException {
+            return of(csv, Files.size(csv));
+        }
+
+        static Source of(Path csv, long end) throws IOException {
+            return new Source(csv, Math.min(end, Files.size(csv)), Files.getLastModifiedTime(csv).toMillis());
+        }
+
+        long hash() throws IOException {
+            if (!hashed) {
+                CRC32C crc = new CRC32C();
+                try (FileChannel ch = FileChannel.open(csv, StandardOpenOption.READ)) {
+                    for (long pos = 0; pos < size; pos += Integer.MAX_VALUE) {
+                        crc.update(ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(Integer.MAX_VALUE, size - pos)));
+                    }
+                }
+                hash = crc.getValue();
+                hashed = true;
+            }
+            return hash;
+        }
+    }
+
+    private interface Content<T> {
+        T read(Input in) throws IOException;
+    }
+
+    // Liest den Inhalt eines gültigen Snapshots; null, falls er fehlt, veraltet oder unlesbar ist
+    private static <T> T read(Path snap, Source source, int kind, Content<T> content) {
+        if (!Files.isRegularFile(snap)) return null;
+        try (FileChannel ch = FileChannel.open(snap, StandardOpenOption.READ)) {
+            if (ch.size() < HEADER_BYTES) return null;
+            Input in = new Input(ch);
+            if (in.getLong() != MAGIC || in.getInt() != VERSION || in.getInt() != kind) return null;
+            if (in.getLong() != source.size) return null;
+            long modified = in.getLong();
+            long hash = in.getLong();
+            if (modified != source.modified) {
+                // Gleiche Grösse, andere Änderungszeit: nur der Inhalt kann entscheiden
+                if (hash != source.hash()) return null;
+                restamp(snap, source.modified);
+            }
+            return content.read(in);
+        } catch (IOException | RuntimeException e) {
+            // Beschädigter Snapshot -> wie ein fehlender behandeln
+            return null;
+        }
+    }
+
+    // Übernimmt die neue Änderungszeit in den Kopf, damit der nächste Start nicht wieder prüfsummt
+    private static void restamp(Path snap, long modified) {
+        try (FileChannel ch = FileChannel.open(snap, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(8).putLong(0, modified), 8 + 4 + 4 + 8);
+        } catch (IOException e) {
+            // Dann wird beim nächsten Start eben erneut geprüft
+        }
+    }
+
+    // Liest den Snapshot über eingeblendete Fenster, damit auch Dateien über 2 GB gelesen werden können
+    private static class Input {
+        private static final long WINDOW = 1L << 30;
+
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer buf;
+        private long base;
+
+        Input(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+        }
+
+        private void map(long from) throws IOException {
+            base = from;
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(WINDOW, size - from));
+        }
+
+        // Stellt sicher, dass die nächsten "bytes" Bytes im Fenster liegen
+        private MappedByteBuffer need(int bytes) throws IOException {
+            if (buf.remaining() < bytes && base + buf.position() < size) map(base + buf.position());
+            if (buf.remaining() < bytes) throw new IOException("Snapshot ist abgeschnitten");
+            return buf;
+        }
+
+        // Bytes bis zum Dateiende
+        long remaining() {
+            return size - base - buf.position();
+        }
+
+        // Prüft eine gelesene Anzahl gegen die restlichen Bytes (ein beschädigter Wert darf
+        // keine riesigen Arrays anlegen)
+        int count(int n, int bytesEach) throws IOException {
+            if (n < 0 || (long) n * bytesEach > remaining()) throw new IOException("Snapshot ist beschädigt");
+            return n;
+        }
+
+        byte get() throws IOException {
+            return need(1).get();
+        }
+
+        int getInt() throws IOException {
+            return need(4).getInt();
+        }
+
+        long getLong() throws IOException {
+            return need(8).getLong();
+        }
+
+        void get(byte[] values) throws IOException {
+            need(values.length).get(values);
+        }
+
+        // Ganze Spalte blockweise kopieren, bei Bedarf über mehrere Fenster
+        int[] ints(int n) throws IOException {
+            int[] values = new int[count(n, 4)];
+            for (int off = 0; off < n; ) {
+                int take = Math.min(n - off, need(4).remaining() / 4);
+                buf.asIntBuffer().get(values, off, take);
+                buf.position(buf.position() + take * 4);
+                off += take;
+            }
+            return values;
+        }
+
+        short[] shorts(int n) throws IOException {
+            short[] values = new short[count(n, 2)];
+            for (int off = 0; off < n; ) {
+                int take = Math.min(n - off, need(2).remaining() / 2);
+                buf.asShortBuffer().get(values, off, take);
+                buf.position(buf.position() + take * 2);
+                off += take;
+            }
+            return values;
+        }
+
+        float[] floats(int n) throws IOException {
+            float[] values = new float[count(n, 4)];
+            for (int off = 0; off < n; ) {
+                int take = Math.min(n - off, need(4).remaining() / 4);
+                buf.asFloatBuffer().get(values, off, take);
+                buf.position(buf.position() + take * 4);
+                off += take;
+            }
+            return values;
+        }
+    }
+
+    // --- Schreiben ---
+
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // Schreibt zuerst in eine temporäre Datei und ersetzt dann den alten Snapshot
+    private static void write(Path snap, Source source, int kind, Body body) {
+        Path tmp = snap.resolveSibling(snap.getFileName() + ".tmp");
+        try {
+            long hash = source.hash();
+            try (OutputStream os = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+                out.writeLong(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(kind);
+                out.writeLong(source.size);
+                out.writeLong(source.modified);
+                out.writeLong(hash);
+                body.write(out);
+            }
+            Files.move(tmp, snap, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Ohne Snapshot läuft das Programm trotzdem, nur beim nächsten Start wieder mit Parsen
+            System.err.println("Snapshot konnte nicht geschrieben werden: " + snap + " (" + e.getMessage() + ")");
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // nichts mehr zu tun
+            }
+        }
+    }
+
+    private static void writeMatches(DataOutputStream out, MatchTable t, boolean withOdds) throws IOException {
+        out.writeBoolean(withOdds);
+        writeDictionary(out, t.leagues());
+        writeDictionary(out, t.teams());
+        writeDictionary(out, t.dates());
+        int n = t.size();
+        out.writeInt(n);
+        for (int i = 0; i < n; i++) out.writeInt(t.league(i));
+        for (int i = 0; i < n; i++) out.writeShort(t.season(i));
+        for (int i = 0; i < n; i++) out.writeInt(t.dateId(i));
+        for (int i = 0; i < n; i++) out.writeInt(t.homeTeam(i));
+        for (int i = 0; i < n; i++) out.writeInt(t.awayTeam(i));
+        for (int i = 0; i < n; i++) out.writeShort(t.homeGoals(i));
+        for (int i = 0; i < n; i++) out.writeShort(t.awayGoals(i));
+        for (int i = 0; i < n; i++) out.writeInt(t.kickoff(i));
+        if (!withOdds) return;
+        for (int c = 0; c < MatchTable.ODDS_COLUMNS; c++) {
+            for (int i = 0; i < n; i++) out.writeFloat(t.oddsAt(c, i));
+        }
+    }
+
+    private static void writePlayers(DataOutputStream out, List<PlayerStat> players) throws IOException {
+        out.writeInt(players.size());
+        for (PlayerStat p : players) {
+            writeString(out, p.player);
+            writeString(out, p.team);
+            writeString(out, p.league);
+            out.writeInt(p.season);
+            out.writeInt(p.goals);
+        }
+    }
+
+    private static void writeDictionary(DataOutputStream out, NameDictionary dict) throws IOException {
+        out.writeInt(dict.size());
+        for (int id = 0; id < dict.size(); id++) writeString(out, dict.name(id));
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // --- Lesen ---
+
+    // Liefert null, wenn Quoten verlangt sind, der Snapshot aber keine enthält
+    private static MatchTable readMatches(Input in, boolean withOdds) throws IOException {
+        boolean hasOdds = in.get() != 0;
+        if (withOdds && !hasOdds) return null;
+        NameDictionary leagues = readDictionary(in);
+        NameDictionary teams = readDictionary(in);
+        NameDictionary dates = readDictionary(in);
+        int n = in.getInt();
+        int[] league = in.ints(n);
+        short[] season = in.shorts(n);
+        int[] date = in.ints(n);
+        int[] home = in.ints(n);
+        int[] away = in.ints(n);
+        short[] homeGoals = in.shorts(n);
+        short[] awayGoals = in.shorts(n);
+        int[] kickoff = in.ints(n);
+        float[][] odds = null;
+        if (hasOdds) {
+            odds = new float[MatchTable.ODDS_COLUMNS][];
+            for (int c = 0; c < odds.length; c++) odds[c] = in.floats(n);
+        }
+        return new MatchTable(leagues, teams, dates, n, league, season, date, home, away, homeGoals, awayGoals, kickoff, odds);
+    }
+
+    private static List<PlayerStat> readPlayers(Input in) throws IOException {
+        // Pro Spieler mindestens drei Längen und zwei Zahlen
+        int n = in.count(in.getInt(), 5 * 4);
+        List<PlayerStat> players = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String player = readString(in);
+            String team = readString(in);
+            String league = readString(in);
+            int season = in.getInt();
+            int goals = in.getInt();
+            players.add(new PlayerStat(player, team, league, season, goals));
+        }
+        return players;
+    }
+
+    private static NameDictionary readDictionary(Input in) throws IOException {
+        NameDictionary dict = new NameDictionary();
+        int n = in.count(in.getInt(), 4);
+        for (int i = 0; i < n; i++) dict.idOf(readString(in));
+        return dict;
+    }
+
+    private static String readString(Input in) throws IOException {
+        byte[] bytes = new byte[in.count(in.getInt(), 1)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
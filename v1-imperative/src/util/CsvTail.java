@@ -0,0 +1,130 @@
+package util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Verfolgt eine CSV-Datei, an die laufend neue Zeilen angehängt werden (wie "tail -f").
+ * Jeder Aufruf von {@link #poll} liest nur die seit dem letzten Aufruf angehängten Bytes
+ * und liefert jede vollständige Zeile als String-Array. Eine noch unvollständige letzte
+ * Zeile wird zurückgehalten, bis ihr Zeilenende geschrieben ist.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class CsvTail implements Closeable {
+
+    private final FileChannel channel;
+
+    // Bis hierher ist die Datei verarbeitet
+    private long offset;
+
+    // Angefangene Zeile ohne Zeilenende
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+    private CsvTail(FileChannel channel, long offset) {
+        this.channel = channel;
+        this.offset = offset;
+    }
+
+    /**
+     * Beginnt am aktuellen Dateiende; nur später angehängte Zeilen werden geliefert.
+     * @param path Pfad zur CSV-Datei
+     * @return Der Tail
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann
+     */
+    public static CsvTail fromEnd(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+        return new CsvTail(ch, ch.size());
+    }
+
+    /**
+     * Beginnt an einer bestimmten Position, z. B. dort, wo das Laden der Datei aufgehört hat.
+     * Zeilen, die seither angehängt wurden, liefert schon der erste {@link #poll}.
+     * @param path Pfad zur CSV-Datei
+     * @param offset Erstes ungelesenes Byte (Zeilenanfang)
+     * @return Der Tail
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann
+     */
+    public static CsvTail from(Path path, long offset) throws IOException {
+        return new CsvTail(FileChannel.open(path, StandardOpenOption.READ), offset);
+    }
+
+    /**
+     * Bestimmt das Ende der letzten vollständigen Zeile. Eine Zeile, die gerade noch
+     * geschrieben wird (ohne Zeilenende), gehört nicht dazu.
+     * @param path Pfad zur CSV-Datei
+     * @return Position direkt nach dem letzten '\n' (0, wenn es keines gibt)
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static long completeLinesEnd(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer chunk = ByteBuffer.allocate(8192);
+            long end = ch.size();
+            while (end > 0) {
+                long from = Math.max(0, end - chunk.capacity());
+                chunk.clear().limit((int) (end - from));
+                int n = 0;
+                while (chunk.hasRemaining() && ch.read(chunk, from + n) > 0) n = chunk.position();
+                for (int i = n - 1; i >= 0; i--) {
+                    if (chunk.get(i) == '\n') return from + i + 1;
+                }
+                end = from;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Liest alle neu angehängten, vollständigen Zeilen.
+     * Wurde die Datei gekürzt oder neu geschrieben, wird am neuen Dateiende weitergemacht.
+     *
+     * @param visitor Wird für jede neue, nicht-leere Zeile aufgerufen
+     * @return Anzahl gelieferter Zeilen
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public int poll(Consumer<String[]> visitor) throws IOException {
+        long size = channel.size();
+        if (size < offset) {
+            offset = size;
+            pending.reset();
+            return 0;
+        }
+        int rows = 0;
+        while (offset < size) {
+            buffer.clear();
+            int n = channel.read(buffer, offset);
+            if (n <= 0) break;
+            offset += n;
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+            for (int i = 0; i < n; i++) {
+                if (bytes[i] != '\n') continue;
+                pending.write(bytes, lineStart, i - lineStart);
+                lineStart = i + 1;
+                String line = pending.toString(StandardCharsets.UTF_8);
+                pending.reset();
+                if (line.endsWith("\r")) line = line.substring(0, line.length() - 1);
+                if (line.isBlank()) continue;
+                visitor.accept(line.split(","));
+                rows++;
+            }
+            pending.write(bytes, lineStart, n - lineStart);
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,493 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * CSV-Reader, der die Datei per {@link FileChannel#map} in den Speicher einblendet
+ * und direkt auf den Bytes nach Kommas und Zeilenenden sucht.
+ * Pro Zeile werden nur Start-/Endpositionen der Felder gemerkt; Zahlen und Texte
+ * entstehen erst, wenn ein Feld über {@link #intAt(int)} oder {@link #stringAt(int)} abgefragt wird.
+ * Ein UTF-8-BOM am Dateianfang wird übersprungen, die erste Zeile ist der Header.
+ *
+ * Gzip-komprimierte Dateien lassen sich nicht einblenden; sie werden über {@link CompressedInput}
+ * entpackt und fensterweise in einen Puffer auf dem Heap gelesen (gleiche Zerlegung, nur ohne map).
+ *
+ * Verwendung:
+ * <pre>
+ * try (MappedCsvReader r = MappedCsvReader.open(path)) {
+ *     while (r.next()) { int hg = r.intAt(7); ... }
+ * }
+ * </pre>
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class MappedCsvReader implements Closeable {
+
+    // Maximale Grösse eines eingeblendeten Fensters (grosse Dateien werden in Fenstern gelesen)
+    private static final long WINDOW = 1L << 30;
+
+    // Startgrösse des Puffers beim Lesen aus einem Stream (wächst, falls eine Zeile nicht hineinpasst)
+    private static final int STREAM_WINDOW = 1 << 20;
+
+    // Zehnerpotenzen für floatAt (Nachkommastellen)
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+            1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    private final FileChannel channel;
+
+    // Quelle bei komprimierten Dateien (sonst null) und ob sie bereits ganz gelesen ist
+    private final InputStream stream;
+    private boolean streamEnded;
+
+    // Nur der Reader, der die Datei geöffnet hat, schliesst sie auch
+    private final boolean ownsChannel;
+
+    // Ende des zu lesenden Bereichs (exklusiv, absolute Dateiposition)
+    private final long end;
+
+    // Aktuelles Fenster und dessen Startposition in der Datei
+    private ByteBuffer buf;
+    private long bufBase;
+    private int limit;
+    private int pos;
+
+    // Feldgrenzen der aktuellen Zeile (relativ zum Fenster)
+    private int[] starts = new int[32];
+    private int[] ends = new int[32];
+    private int fieldCount;
+
+    // Letzte Spalte, die zerlegt wird (Projektion); danach wird nur noch das Zeilenende gesucht
+    private int lastField = Integer.MAX_VALUE;
+
+    // Header-Spalten (nur wenn ab Dateianfang gelesen wird)
+    private String[] header = new String[0];
+
+    // Puffer zum Dekodieren von Texten
+    private byte[] scratch = new byte[64];
+
+    // Kleine Intern-Tabelle: gleiche Bytefolge -> gleiches String-Objekt
+    private byte[][] internBytes = new byte[256][];
+    private String[] internStrings = new String[256];
+    private int internCount;
+
+    private MappedCsvReader(FileChannel channel, long start, long end, boolean ownsChannel) throws IOException {
+        this.channel = channel;
+        this.stream = null;
+        this.end = end;
+        this.ownsChannel = ownsChannel;
+        map(start);
+    }
+
+    private MappedCsvReader(InputStream stream) throws IOException {
+        this.channel = null;
+        this.stream = stream;
+        this.end = Long.MAX_VALUE;
+        this.ownsChannel = false;
+        this.buf = ByteBuffer.wrap(new byte[STREAM_WINDOW]);
+        map(0);
+    }
+
+    /**
+     * Öffnet eine CSV-Datei und liest den Header ein.
+     * Gzip-komprimierte Dateien werden erkannt und beim Lesen entpackt.
+     * @param path Pfad zur CSV-Datei
+     * @return Ein Reader, der vor der ersten Datenzeile steht
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static MappedCsvReader open(Path path) throws IOException {
+        MappedCsvReader r;
+        if (CompressedInput.isGzip(path)) {
+            r = new MappedCsvReader(CompressedInput.open(path));
+        } else {
+            FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+            r = new MappedCsvReader(ch, 0, ch.size(), true);
+        }
+        r.skipBom();
+        if (r.next()) {
+            r.header = new String[r.fieldCount];
+            for (int i = 0; i < r.fieldCount; i++) r.header[i] = r.stringAt(i);
+        }
+        return r;
+    }
+
+    /**
+     * Liest nur den Bytebereich [start, end) einer bereits geöffneten Datei.
+     * Der Bereich muss an Zeilenanfängen beginnen und enden und enthält keinen Header.
+     * Der Kanal wird beim Schliessen dieses Readers nicht geschlossen.
+     * @param channel Geöffnete Datei
+     * @param start Erstes Byte (absolute Dateiposition)
+     * @param end Ende des Bereichs (exklusiv)
+     * @return Ein Reader für den Bereich
+     * @throws IOException Wenn der Bereich nicht eingeblendet werden kann
+     */
+    public static MappedCsvReader openRange(FileChannel channel, long start, long end) throws IOException {
+        return new MappedCsvReader(channel, start, end, false);
+    }
+
+    /**
+     * Sucht ab einer Position den nächsten Zeilenanfang.
+     * @param channel Geöffnete Datei
+     * @param from Startposition der Suche
+     * @return Position direkt nach dem nächsten '\n' oder die Dateigrösse
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static long nextLineStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(8192);
+        long p = from;
+        long size = channel.size();
+        while (p < size) {
+            chunk.clear();
+            int n = channel.read(chunk, p);
+            if (n <= 0) break;
+            for (int i = 0; i < n; i++) {
+                if (chunk.get(i) == '\n') return p + i + 1;
+            }
+            p += n;
+        }
+        return size;
+    }
+
+    /** @return Absolute Dateiposition des nächsten ungelesenen Bytes */
+    public long position() {
+        return bufBase + pos;
+    }
+
+    private void map(long from) throws IOException {
+        if (stream != null) {
+            refill(from);
+            return;
+        }
+        bufBase = from;
+        long len = Math.min(WINDOW, end - from);
+        buf = channel.map(FileChannel.MapMode.READ_ONLY, from, len);
+        limit = (int) len;
+        pos = 0;
+    }
+
+    // Stream-Variante von map: Bytes ab "from" an den Pufferanfang schieben und den Rest aus dem Stream füllen
+    private void refill(long from) throws IOException {
+        byte[] data = buf.array();
+        int keep = (int) (from - bufBase);
+        int remaining = limit - keep;
+        if (remaining == data.length) {
+            // Eine einzelne Zeile füllt den ganzen Puffer -> vergrössern
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        System.arraycopy(buf.array(), keep, data, 0, remaining);
+        int n = stream.readNBytes(data, remaining, data.length - remaining);
+        if (remaining + n < data.length) streamEnded = true;
+        buf = data == buf.array() ? buf : ByteBuffer.wrap(data);
+        bufBase = from;
+        limit = remaining + n;
+        pos = 0;
+    }
+
+    // true, solange nach dem aktuellen Fenster noch Bytes folgen
+    private boolean more() {
+        return stream != null ? !streamEnded : bufBase + limit < end;
+    }
+
+    private void skipBom() {
+        if (limit >= 3 && (buf.get(0) & 0xFF) == 0xEF && (buf.get(1) & 0xFF) == 0xBB && (buf.get(2) & 0xFF) == 0xBF) {
+            pos = 3;
+        }
+    }
+
+    /**
+     * Zerlegt ab der nächsten Zeile nur noch die Spalten 0 bis {@code lastColumn}.
+     * Nach dem Komma hinter dieser Spalte wird der Rest der Zeile nur noch nach '\n' abgesucht;
+     * spätere Spalten gelten als fehlend ({@link #fieldCount()} höchstens {@code lastColumn + 1}).
+     * @param lastColumn Index der letzten benötigten Spalte
+     * @return Dieser Reader
+     */
+    public MappedCsvReader project(int lastColumn) {
+        this.lastField = Math.max(0, lastColumn);
+        return this;
+    }
+
+    /** @return Die Spaltennamen aus der ersten Zeile */
+    public String[] header() {
+        return header;
+    }
+
+    /**
+     * Sucht eine Spalte im Header.
+     * @param name Spaltenname
+     * @return Index der Spalte oder -1
+     */
+    public int column(String name) {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Springt zur nächsten nicht-leeren Zeile.
+     * @return false, wenn das Dateiende erreicht ist
+     * @throws IOException Wenn das nächste Fenster nicht eingeblendet werden kann
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (pos >= limit) {
+                if (!more()) return false;
+                map(bufBase + limit);
+            }
+            int lineStart = pos;
+            int fc = 0;
+            starts[0] = pos;
+            int i = pos;
+            boolean cut = false;
+            while (i < limit) {
+                byte b = buf.get(i);
+                if (b == '\n') break;
+                if (b == ',') {
+                    ends[fc] = i;
+                    if (fc == lastField) {
+                        // Alle benötigten Spalten gelesen -> nur noch das Zeilenende suchen
+                        cut = true;
+                        i++;
+                        while (i < limit && buf.get(i) != '\n') i++;
+                        break;
+                    }
+                    fc++;
+                    if (fc == starts.length) growFields();
+                    starts[fc] = i + 1;
+                }
+                i++;
+            }
+            if (i == limit && more()) {
+                if (lineStart == 0 && stream == null) {
+                    // Zeile beginnt schon am Fensteranfang -> neu einblenden brächte dasselbe Fenster
+                    throw new IOException("Zeile ab Position " + bufBase + " ist länger als " + WINDOW + " Bytes");
+                }
+                // Zeile geht über das Fensterende hinaus -> ab Zeilenanfang neu einblenden
+                map(bufBase + lineStart);
+                continue;
+            }
+            int lineEnd = i;
+            if (!cut) {
+                if (lineEnd > lineStart && buf.get(lineEnd - 1) == '\r') lineEnd--;
+                ends[fc] = lineEnd;
+            }
+            fieldCount = fc + 1;
+            pos = i + 1;
+
+            // Leere Zeilen ignorieren
+            if (isBlank(lineStart, lineEnd)) continue;
+            return true;
+        }
+    }
+
+    private boolean isBlank(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((buf.get(i) & 0xFF) > ' ') return false;
+        }
+        return true;
+    }
+
+    private void growFields() {
+        starts = Arrays.copyOf(starts, starts.length * 2);
+        ends = Arrays.copyOf(ends, ends.length * 2);
+    }
+
+    /** @return Anzahl Felder der aktuellen Zeile */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    // Erstes Byte des Feldes ohne führende Leerzeichen
+    private int trimmedStart(int col) {
+        int s = starts[col], e = ends[col];
+        while (s < e && (buf.get(s) & 0xFF) <= ' ') s++;
+        return s;
+    }
+
+    // Position nach dem letzten Byte des Feldes ohne abschliessende Leerzeichen
+    private int trimmedEnd(int col, int s) {
+        int e = ends[col];
+        while (e > s && (buf.get(e - 1) & 0xFF) <= ' ') e--;
+        return e;
+    }
+
+    /**
+     * @param col Spaltenindex
+     * @return true, wenn das Feld fehlt oder nur Leerzeichen enthält
+     */
+    public boolean isEmpty(int col) {
+        if (col >= fieldCount) return true;
+        int s = trimmedStart(col);
+        return trimmedEnd(col, s) == s;
+    }
+
+    /**
+     * Liest ein Feld als Ganzzahl. Ungültige oder fehlende Werte ergeben 0
+     * (wie {@code parseIntSafe} in {@code Match}).
+     * @param col Spaltenindex
+     * @return Der Zahlenwert
+     */
+    public int intAt(int col) {
+        if (col >= fieldCount) return 0;
+        int s = trimmedStart(col);
+        return parseInt(s, trimmedEnd(col, s));
+    }
+
+    /**
+     * Liest den Zahlenwert vor dem ersten Trennzeichen, z. B. 2012 aus "2012/2013".
+     * Ohne Trennzeichen wird das ganze Feld gelesen; ungültige Werte ergeben 0.
+     * @param col Spaltenindex
+     * @param stop Trennzeichen
+     * @return Der Zahlenwert
+     */
+    public int intBefore(int col, char stop) {
+        if (col >= fieldCount) return 0;
+        int s = trimmedStart(col);
+        int e = trimmedEnd(col, s);
+        for (int i = s + 1; i < e; i++) {
+            if (buf.get(i) == stop) { e = i; break; }
+        }
+        return parseInt(s, e);
+    }
+
+    private int parseInt(int s, int e) {
+        if (s == e) return 0;
+        boolean negative = false;
+        byte first = buf.get(s);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            s++;
+            if (s == e) return 0;
+        }
+        long value = 0;
+        for (int i = s; i < e; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) return 0;
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) return 0;
+        }
+        if (negative) value = -value;
+        if (value > Integer.MAX_VALUE) return 0;
+        return (int) value;
+    }
+
+    /**
+     * Liest ein Feld als Dezimalzahl, z. B. eine Quote wie "1.68".
+     * Einfache Zahlen (Ziffern mit optionalem Dezimalpunkt) werden direkt aus den Bytes gelesen,
+     * alles andere über {@link Float#parseFloat}.
+     * @param col Spaltenindex
+     * @return Der Zahlenwert oder {@code Float.NaN}, falls das Feld fehlt, leer oder ungültig ist
+     */
+    public float floatAt(int col) {
+        if (col >= fieldCount) return Float.NaN;
+        int s = trimmedStart(col);
+        int e = trimmedEnd(col, s);
+        if (s == e) return Float.NaN;
+        long digits = 0;
+        int scale = -1;
+        int count = 0;
+        for (int i = s; i < e; i++) {
+            byte b = buf.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9' && count < 18) {
+                digits = digits * 10 + (b - '0');
+                count++;
+                if (scale >= 0) scale++;
+            } else {
+                // Vorzeichen, Exponent, sehr lange Zahlen usw.
+                try {
+                    return Float.parseFloat(stringAt(col));
+                } catch (NumberFormatException ex) {
+                    return Float.NaN;
+                }
+            }
+        }
+        if (count == 0) return Float.NaN;
+        return (float) (scale <= 0 ? digits : digits / POWERS_OF_TEN[scale]);
+    }
+
+    /**
+     * Liest ein Feld als Text (ohne führende/abschliessende Leerzeichen).
+     * @param col Spaltenindex
+     * @return Der Text oder "" falls das Feld fehlt
+     */
+    public String stringAt(int col) {
+        if (col >= fieldCount) return "";
+        int s = trimmedStart(col);
+        int len = trimmedEnd(col, s) - s;
+        copyToScratch(s, len);
+        return new String(scratch, 0, len, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Wie {@link #stringAt(int)}, liefert aber für gleiche Bytefolgen immer dasselbe String-Objekt.
+     * Für Spalten mit wenigen verschiedenen Werten (Liga, Team, Datum) wird so pro Wert
+     * nur einmal ein String erzeugt.
+     * @param col Spaltenindex
+     * @return Der Text oder "" falls das Feld fehlt
+     */
+    public String internedAt(int col) {
+        if (col >= fieldCount) return "";
+        int s = trimmedStart(col);
+        int len = trimmedEnd(col, s) - s;
+        copyToScratch(s, len);
+        int h = 1;
+        for (int i = 0; i < len; i++) h = 31 * h + scratch[i];
+        int mask = internBytes.length - 1;
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (internBytes[slot] != null) {
+            if (Arrays.equals(internBytes[slot], 0, internBytes[slot].length, scratch, 0, len)) {
+                return internStrings[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        String value = new String(scratch, 0, len, StandardCharsets.UTF_8);
+        internBytes[slot] = Arrays.copyOf(scratch, len);
+        internStrings[slot] = value;
+        if (++internCount * 2 > internBytes.length) growIntern();
+        return value;
+    }
+
+    private void growIntern() {
+        byte[][] oldBytes = internBytes;
+        String[] oldStrings = internStrings;
+        internBytes = new byte[oldBytes.length * 2][];
+        internStrings = new String[oldBytes.length * 2];
+        int mask = internBytes.length - 1;
+        for (int i = 0; i < oldBytes.length; i++) {
+            byte[] key = oldBytes[i];
+            if (key == null) continue;
+            int h = 1;
+            for (byte b : key) h = 31 * h + b;
+            int slot = (h ^ (h >>> 16)) & mask;
+            while (internBytes[slot] != null) slot = (slot + 1) & mask;
+            internBytes[slot] = key;
+            internStrings[slot] = oldStrings[i];
+        }
+    }
+
+    private void copyToScratch(int s, int len) {
+        if (len > scratch.length) scratch = new byte[Math.max(len, scratch.length * 2)];
+        buf.get(s, scratch, 0, len);
+    }
+
+    /**
+     * Schliesst die Datei (nur bei {@link #open(Path)}). Eingeblendete Fenster werden vom GC freigegeben.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownsChannel) channel.close();
+        if (stream != null) stream.close();
+    }
+}
@@ -0,0 +1,146 @@
+package util;
+
+import model.MatchColumns;
+import model.MatchTable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lädt "matches.csv" parallel auf mehreren Kernen.
+ * Die Datei wird in Bytebereiche zerlegt, die jeweils an einem Zeilenanfang beginnen.
+ * Jeder Bereich wird von einem eigenen Worker in eine Teil-{@link MatchTable} gelesen;
+ * anschliessend werden die Teile in Dateireihenfolge zusammengefügt, sodass die
+ * Zeilenreihenfolge (z. B. für "letzte 10 Spiele") gleich bleibt wie beim sequentiellen Laden.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class ParallelMatchLoader {
+
+    // Kleinere Bereiche lohnen sich nicht (Thread-Start und Zusammenfügen kosten mehr als das Parsen)
+    private static final long MIN_CHUNK = 4L << 20;
+
+    /**
+     * Lädt die Datei mit so vielen Workern wie Prozessorkerne vorhanden sind.
+     * @param path Pfad zur CSV-Datei
+     * @return Die vollständige Tabelle
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static MatchTable load(Path path) throws IOException {
+        return load(path, Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Lädt die Datei mit so vielen Workern wie Prozessorkerne vorhanden sind.
+     * @param path Pfad zur CSV-Datei
+     * @param withOdds false, wenn die Quotenspalten nicht gebraucht werden (Zeilen werden nach "AG" nicht mehr zerlegt)
+     * @return Die vollständige Tabelle
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static MatchTable load(Path path, boolean withOdds) throws IOException {
+        return load(path, Runtime.getRuntime().availableProcessors(), withOdds);
+    }
+
+    /**
+     * Lädt die Datei mit höchstens {@code threads} Workern.
+     * Kleine Dateien werden ohne Threadpool direkt gelesen.
+     * @param path Pfad zur CSV-Datei
+     * @param threads Maximale Anzahl Worker
+     * @param withOdds true, wenn die Quotenspalten gelesen werden sollen
+     * @return Die vollständige Tabelle
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder eine Spalte fehlt
+     */
+    public static MatchTable load(Path path, int threads, boolean withOdds) throws IOException {
+        return load(path, threads, withOdds, Long.MAX_VALUE);
+    }
+
+    /**
+     * Lädt nur die ersten {@code end} Bytes der Datei, z. B. bis zum Ende der letzten vollständigen
+     * Zeile, wenn die Datei danach mit {@link CsvTail} weiter verfolgt wird.
+     * Bei komprimierten Dateien wird immer die ganze Datei gelesen.
+     * @param path Pfad zur CSV-Datei
+     * @param threads Maximale Anzahl Worker
+     * @param withOdds true, wenn die Quotenspalten gelesen werden sollen
+     * @param end Ende des zu lesenden Bereichs (exklusiv, muss an einem Zeilenanfang liegen)
+     * @return Die Tabelle
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder eine Spalte fehlt
+     */
+    public static MatchTable load(Path path, int threads, boolean withOdds, long end) throws IOException {
+        // Komprimierte Dateien lassen sich nicht in Bytebereiche zerlegen -> am Stück lesen
+        if (CompressedInput.isGzip(path)) return MatchTable.load(path, withOdds);
+
+        // Spaltenpositionen einmal aus dem Header bestimmen; die Bereiche selbst haben keinen Header
+        long dataStart;
+        MatchColumns cols;
+        try (MappedCsvReader header = MappedCsvReader.open(path)) {
+            dataStart = header.position();
+            cols = MatchColumns.of(header.header(), withOdds);
+        }
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = Math.min(ch.size(), end);
+            dataStart = Math.min(dataStart, size);
+            long dataLength = size - dataStart;
+            int chunks = (int) Math.max(1, Math.min(threads, dataLength / MIN_CHUNK));
+            if (chunks == 1) {
+                return loadRange(ch, dataStart, size, cols);
+            }
+
+            // Bereichsgrenzen auf Zeilenanfänge ausrichten
+            long[] bounds = new long[chunks + 1];
+            bounds[0] = dataStart;
+            bounds[chunks] = size;
+            for (int c = 1; c < chunks; c++) {
+                long guess = dataStart + dataLength * c / chunks;
+                bounds[c] = Math.max(bounds[c - 1], MappedCsvReader.nextLineStart(ch, guess));
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(chunks, Metrics.threadFactory());
+            try {
+                List<Future<MatchTable>> parts = new ArrayList<>();
+                for (int c = 0; c < chunks; c++) {
+                    long from = bounds[c];
+                    long to = bounds[c + 1];
+                    parts.add(pool.submit(() -> loadRange(ch, from, to, cols)));
+                }
+
+                // Teile in Dateireihenfolge zusammenfügen (Platz für alle Zeilen vorab, dann ohne Kürzen)
+                List<MatchTable> tables = new ArrayList<>(parts.size());
+                int rows = 0;
+                for (Future<MatchTable> part : parts) {
+                    tables.add(part.get());
+                    rows += tables.get(tables.size() - 1).size();
+                }
+                MatchTable.Builder merged = new MatchTable.Builder().reserve(rows);
+                for (MatchTable t : tables) merged.append(t);
+                return merged.build();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Laden unterbrochen: " + path, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw new IOException("Fehler beim parallelen Laden: " + path, e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private static MatchTable loadRange(FileChannel ch, long from, long to, MatchColumns cols) throws IOException {
+        MatchTable.Builder b = new MatchTable.Builder();
+        if (from >= to) return b.build();
+        try (MappedCsvReader r = MappedCsvReader.openRange(ch, from, to).project(cols.last())) {
+            while (r.next()) b.addRow(r, cols);
+        }
+        return b.build();
+    }
+}
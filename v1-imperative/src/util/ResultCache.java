@@ -0,0 +1,136 @@
+package util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Zwischenspeicher für berechnete Auswertungen (z. B. Tabelle einer abgeschlossenen Saison).
+ * Schlüssel ist (Auswertung, Liga, Saison, Team, Datenstand); ändert sich der Datenstand,
+ * passen alte Einträge nicht mehr und werden nie wieder getroffen.
+ *
+ * Die Grösse ist begrenzt: ein {@link LinkedHashMap} in Zugriffsreihenfolge verdrängt
+ * den am längsten nicht mehr benutzten Eintrag (LRU). Treffer, Fehlgriffe und
+ * Verdrängungen werden gezählt. Alle Methoden sind threadsicher; die Berechnung
+ * selbst läuft ausserhalb der Sperre, damit langsame Auswertungen andere Abfragen nicht blockieren.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class ResultCache {
+
+    private final int capacity;
+    private final LinkedHashMap<Key, Object> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity Maximale Anzahl Einträge
+     */
+    public ResultCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() <= ResultCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Liefert das gespeicherte Ergebnis oder berechnet und speichert es.
+     * @param key Der Schlüssel
+     * @param compute Berechnet das Ergebnis bei einem Fehlgriff (darf nicht null liefern)
+     * @param <V> Typ des Ergebnisses (muss zur Auswertung im Schlüssel passen)
+     * @return Das Ergebnis
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(Key key, Supplier<V> compute) {
+        synchronized (this) {
+            Object cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return (V) cached;
+            }
+            misses++;
+        }
+        V value = compute.get();
+        synchronized (this) {
+            // Hat ein anderer Thread inzwischen dasselbe berechnet, dessen Ergebnis behalten
+            Object existing = entries.putIfAbsent(key, value);
+            return existing != null ? (V) existing : value;
+        }
+    }
+
+    /**
+     * Entfernt alle Einträge (z. B. nach dem Neuladen der Daten). Zähler bleiben erhalten.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /** @return Anzahl Einträge */
+    public synchronized int size() { return entries.size(); }
+
+    /** @return Maximale Anzahl Einträge */
+    public int capacity() { return capacity; }
+
+    /** @return Anzahl Treffer */
+    public synchronized long hits() { return hits; }
+
+    /** @return Anzahl Fehlgriffe (Ergebnis musste berechnet werden) */
+    public synchronized long misses() { return misses; }
+
+    /** @return Anzahl verdrängter Einträge */
+    public synchronized long evictions() { return evictions; }
+
+    /**
+     * Schlüssel eines Ergebnisses.
+     */
+    public static class Key {
+        public final String analysis;
+        public final String league;
+        public final int season;
+        public final String team;
+        public final long version;
+
+        /**
+         * @param analysis Name der Auswertung (z. B. "standings")
+         * @param league Liga oder null
+         * @param season Saison oder 0
+         * @param team Team oder null
+         * @param version Datenstand, zu dem das Ergebnis gehört
+         */
+        public Key(String analysis, String league, int season, String team, long version) {
+            this.analysis = analysis;
+            this.league = league;
+            this.season = season;
+            this.team = team;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return season == k.season && version == k.version && analysis.equals(k.analysis)
+                    && Objects.equals(league, k.league) && Objects.equals(team, k.team);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(analysis, league, season, team, version);
+        }
+
+        @Override
+        public String toString() {
+            return analysis + "(" + league + ", " + season + ", " + team + ") @" + version;
+        }
+    }
+}
@@ -7,8 +7,10 @@ for /r "%ROOT%src" %%f in (*.java) do (
   if not defined files set "files=%%f"
   if defined files set "files=!files! %%f"
 )
+rem Gemeinsame Klassen beider Versionen (Match, CsvUtil, Metrics, Analysis-SPI usw.) liegen in shared\src
+for /r "%ROOT%..\shared\src" %%f in (*.java) do set "files=!files! %%f"
 javac -d "%ROOT%out" -encoding UTF-8 %files%
 if errorlevel 1 exit /b %errorlevel%
 pushd "%ROOT%" >nul
-java -cp "%ROOT%out" Main
+java -cp "%ROOT%out" Main %*
 popd >nul
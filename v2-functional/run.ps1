@@ -4,8 +4,10 @@ if (-not $root) { $root = Split-Path -Parent $MyInvocation.MyCommand.Path }
 $src = Join-Path $root 'src'
 $out = Join-Path $root 'out'
 if (!(Test-Path -LiteralPath $out)) { New-Item -ItemType Directory -Path $out | Out-Null }
-$files = Get-ChildItem -Path $src -Recurse -File -Filter *.java | ForEach-Object { $_.FullName }
+# Gemeinsame Klassen beider Versionen (Match, CsvUtil, Metrics, Analysis-SPI usw.) liegen in shared/src
+$shared = Join-Path $root '../shared/src'
+$files = Get-ChildItem -Path $src, $shared -Recurse -File -Filter *.java | ForEach-Object { $_.FullName }
 & javac -d $out -encoding UTF-8 @files
 if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
 Push-Location $root
-try { & java -cp $out Main } finally { Pop-Location }
+try { & java -cp $out Main @args } finally { Pop-Location }
@@ -2,6 +2,8 @@
 set -euo pipefail
 DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
 mkdir -p "$DIR/out"
-javac -d "$DIR/out" -encoding UTF-8 $(find "$DIR/src" -name "*.java")
+# Gemeinsame Klassen beider Versionen (Match, CsvUtil, Metrics, Analysis-SPI usw.) liegen in shared/src
+SHARED="$DIR/../shared/src"
+javac -d "$DIR/out" -encoding UTF-8 $(find "$DIR/src" "$SHARED" -name "*.java")
 cd "$DIR"
-java -cp "$DIR/out" Main
+java -cp "$DIR/out" Main "$@"
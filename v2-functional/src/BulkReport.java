@@ -0,0 +1,140 @@
+import analysis.Analysis;
+import analysis.StreamAnalysis;
+import model.Match;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk-Modus ({@code --bulk}): Tabelle, Tore pro Team und Heim/Auswärts/Unentschieden
+ * für jede Liga/Saison im Datensatz statt nur für die eine gewählte.
+ *
+ * Die Spiele werden einmal nach Liga und Saison gruppiert (sortiert über TreeMaps),
+ * die Partitionen dann mit einem parallelen Stream als Text aufbereitet. {@code collect}
+ * behält die Reihenfolge, daher ist die Ausgabe gleich wie sequentiell (und wie in V1).
+ * Geschrieben wird am Schluss über einen einzigen grossen Writer.
+ *
+ * Formate: {@code text} (Tabellen wie im Bericht) oder {@code csv} (eine Zeile pro Team und Partition).
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class BulkReport {
+
+    /** Spaltenköpfe im CSV-Format */
+    public static final String CSV_HEADER = "league,season,rank,team,played,wins,draws,losses,"
+            + "goals_for,goals_against,goal_diff,points,season_matches,season_home_wins,season_away_wins,season_draws";
+
+    // Innerhalb einer Partition sequentiell, parallel wird schon über die Partitionen gerechnet
+    private static final Analysis SECTIONS = new StreamAnalysis();
+
+    private final List<Match> matches;
+    private final boolean csv;
+
+    /**
+     * @param matches Die geladenen Spiele
+     * @param format "text" oder "csv"
+     */
+    public BulkReport(List<Match> matches, String format) {
+        if (!format.equals("text") && !format.equals("csv")) {
+            throw new IllegalArgumentException("Unbekanntes Format für --bulk: " + format + " (text oder csv)");
+        }
+        this.matches = matches;
+        this.csv = format.equals("csv");
+    }
+
+    /**
+     * Wertet alle Partitionen parallel aus und schreibt sie der Reihe nach.
+     * @param out Ziel (wird nicht geschlossen, aber am Ende geleert)
+     * @throws IOException Wenn nicht geschrieben werden kann
+     */
+    public void write(Writer out) throws IOException {
+        Map<String, TreeMap<Integer, List<Match>>> partitions = matches.stream()
+                .collect(Collectors.groupingBy(m -> m.league, TreeMap::new,
+                        Collectors.groupingBy(m -> m.season, TreeMap::new, Collectors.toList())));
+
+        List<String> parts = partitions.entrySet().stream()
+                .flatMap(l -> l.getValue().values().stream())
+                .collect(Collectors.toList())
+                .parallelStream()
+                .map(p -> render(p.get(0).league, p.get(0).season, p))
+                .collect(Collectors.toList());
+
+        try {
+            if (csv) out.write(CSV_HEADER + "\n");
+            parts.forEach(part -> {
+                try {
+                    out.write(part);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private String render(String league, int season, List<Match> seasonMatches) {
+        List<Main.Row> table = Main.table(SECTIONS, seasonMatches);
+        long[] outcomes = SECTIONS.outcomes(seasonMatches);
+        return csv ? csv(league, season, table, seasonMatches.size(), outcomes)
+                : text(league, season, table, SECTIONS.goalsPerTeam(seasonMatches), seasonMatches.size(), outcomes);
+    }
+
+    private static String text(String league, int season, List<Main.Row> table, Map<String, Integer> goals,
+                               long total, long[] outcomes) {
+        String head = String.format(Locale.ROOT, "=== %s %d ===%n", league, season)
+                + String.format(Locale.ROOT,
+                "Spiele: %d | Heimsiege: %d (%.0f%%) | Auswärtssiege: %d (%.0f%%) | Unentschieden: %d (%.0f%%)%n",
+                total, outcomes[0], percent(outcomes[0], total), outcomes[1], percent(outcomes[1], total),
+                outcomes[2], percent(outcomes[2], total))
+                + String.format(Locale.ROOT, "%n-- Tabelle (W/D/L/GF/GA/GD/Pkt) --%n")
+                + String.format(Locale.ROOT, "%-14s | %2s %2s %2s | %3s %3s %3s | %3s%n",
+                "Team", "W", "D", "L", "GF", "GA", "GD", "Pkt");
+
+        String rows = table.stream()
+                .map(r -> String.format(Locale.ROOT, "%-14s | %2d %2d %2d | %3d %3d %3d | %3d%n",
+                        r.team, r.w, r.d, r.l, r.gf, r.ga, r.gd, r.pts))
+                .collect(Collectors.joining());
+
+        // Bei Gleichstand nach Name (feste Reihenfolge, unabhängig von HashMaps)
+        String goalLines = goals.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(e -> String.format(Locale.ROOT, "%-14s | %3d Tore%n", e.getKey(), e.getValue()))
+                .collect(Collectors.joining());
+
+        return head + rows + String.format(Locale.ROOT, "%n-- Tore pro Team --%n") + goalLines + String.format("%n");
+    }
+
+    private static String csv(String league, int season, List<Main.Row> table, long total, long[] outcomes) {
+        String partition = quote(league) + "," + season + ",";
+        String tail = "," + total + "," + outcomes[0] + "," + outcomes[1] + "," + outcomes[2] + "\n";
+        return IntStream.range(0, table.size())
+                .mapToObj(i -> {
+                    Main.Row r = table.get(i);
+                    return partition + (i + 1) + "," + quote(r.team) + "," + (r.w + r.d + r.l)
+                            + "," + r.w + "," + r.d + "," + r.l + "," + r.gf + "," + r.ga
+                            + "," + r.gd + "," + r.pts + tail;
+                })
+                .collect(Collectors.joining());
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+
+    // CSV-Feld in Anführungszeichen, falls es Komma oder Anführungszeichen enthält
+    private static String quote(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) return s;
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+}
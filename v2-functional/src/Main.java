@@ -1,14 +1,25 @@
+import analysis.Analysis;
 import model.Match;
+import model.MatchStore;
 import model.PlayerStat;
 import util.CsvUtil;
+import util.MatchCollectors;
+import util.Metrics;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
@@ -33,37 +44,79 @@ public class Main {
      * Startpunkt des Programms (funktionale Version).
      * Liest CSV-Dateien ein und verarbeitet die Daten mit Streams.
      *
-     * @param args keine Kommandozeilenparameter nötig
+     * @param args optional "--data=&lt;ordner&gt;": CSV-Dateien aus diesem Ordner statt aus data/ lesen;
+     *             optional "--matches=&lt;ordner|glob&gt;": Spiele aus allen passenden Dateien parallel laden;
+     *             optional "--backend=imperative|stream|parallel|forkjoin": Backend für die Abschnitte (Standard: stream);
+     *             optional "--bulk[=text|csv]": statt des Berichts alle Ligen/Saisons auswerten;
+     *             optional "--metrics[=datei.json]": Zeit, CPU und Allokation pro Phase auf stderr bzw. als JSON ausgeben
      * @throws IOException falls CSV-Dateien nicht gelesen werden können
      */
     public static void main(String[] args) throws IOException {
 
-        // Pfade zu den CSV-Dateien
-        String matchesPath = "data/matches.csv";
-        String playersPath = "data/players.csv";
+        // Pfade zu den CSV-Dateien (Standard: data/, mit --data=<ordner> z. B. für generierte Datensätze)
+        String dataDir = Arrays.stream(args)
+                .filter(a -> a.startsWith("--data="))
+                .map(a -> a.substring("--data=".length()))
+                .reduce("data", (previous, next) -> next);
+        String matchesPath = dataFile(dataDir, "matches.csv");
+        String playersPath = dataFile(dataDir, "players.csv");
 
-        // CSV-Dateien einlesen und in Objekte umwandeln
-        List<Match> matches = CsvUtil.readCsv(matchesPath).stream()
-                .map(Match::fromCsv)
-                .collect(Collectors.toList());
+        // Messung pro Phase (--metrics: Tabelle auf stderr, --metrics=<datei>: JSON)
+        Optional<String> metricsTarget = Arrays.stream(args)
+                .filter(a -> a.equals("--metrics") || a.startsWith("--metrics="))
+                .map(a -> a.equals("--metrics") ? "" : a.substring("--metrics=".length()))
+                .reduce((previous, next) -> next);
+        Metrics metrics = metricsTarget.isPresent() ? Metrics.enabled() : Metrics.disabled();
 
-        List<PlayerStat> players = CsvUtil.readCsv(playersPath).stream()
-                .map(PlayerStat::fromCsv)
-                .collect(Collectors.toList());
+        // Backend für die Abschnitte des Berichts (alle liefern dieselbe Ausgabe)
+        Analysis analysis = Analysis.of(Arrays.stream(args)
+                .filter(a -> a.startsWith("--backend="))
+                .map(a -> a.substring("--backend=".length()))
+                .reduce(Analysis.DEFAULT, (previous, next) -> next));
+
+        // CSV-Dateien zeilenweise streamen und direkt in Objekte umwandeln
+        // (die Rohzeilen werden nie als Ganzes im Speicher gehalten)
+        // Mit --matches=<ordner|glob> alle passenden Dateien parallel laden (eine Aufgabe pro Datei);
+        // Abfragen zu einer Liga/Saison lesen danach nur deren Partition
+        metrics.phase("load matches");
+        Optional<String> matchesSpec = Arrays.stream(args)
+                .filter(a -> a.startsWith("--matches="))
+                .map(a -> a.substring("--matches=".length()))
+                .reduce((previous, next) -> next);
+        MatchStore store = matchesSpec.isPresent()
+                ? MatchStore.load(MatchStore.files(matchesSpec.get()), Runtime.getRuntime().availableProcessors())
+                : MatchStore.of(loadMatches(matchesPath));
+        List<Match> matches = store.all();
+        metrics.phase("load players");
+        List<PlayerStat> players = loadPlayers(playersPath);
+
+        // Bulk-Modus: alle Partitionen parallel, Ausgabe über einen einzigen gepufferten Writer
+        Optional<String> bulk = Arrays.stream(args)
+                .filter(a -> a.equals("--bulk") || a.startsWith("--bulk="))
+                .map(a -> a.equals("--bulk") ? "text" : a.substring("--bulk=".length()))
+                .findFirst();
+        if (bulk.isPresent()) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 20);
+            metrics.phase("bulk");
+            new BulkReport(matches, bulk.get()).write(out);
+            reportMetrics(metrics, metricsTarget);
+            return;
+        }
 
         // Werte aus dem Datensatz ableiten: bevorzugt "Super League",
         // dann neueste Saison; Team bevorzugt "Basel" oder meist-auftretend
+        metrics.phase("infer");
         String league = inferLeague(matches);
-        int season = inferLatestSeason(matches, league);
-        String team = inferTeam(matches, league, season);
+        int season = store.latestSeason(league);
+        String team = inferTeam(store.partition(league, season), league, season);
 
         System.out.println("=== Fussballdaten Analyse ===\n");
 
         // --- Filter: nur Spiele der Liga/Saison ---
+        metrics.phase("filter");
         System.out.println("-- Filter: Spiele " + league + " " + season + " (letzte 10) --");
-        List<Match> seasonMatches = matches.stream()
-                .filter(m -> m.league.equals(league) && m.season == season)
-                .collect(Collectors.toList());
+        // Die Partition grenzt die Kandidaten ein, die Auswahl selbst läuft über das Backend (--backend)
+        List<Match> seasonMatches = analysis.filterSeason(store.partition(league, season), league, season);
         int startIdx = Math.max(0, seasonMatches.size() - 10);
         seasonMatches.subList(startIdx, seasonMatches.size())
                 .forEach(m -> System.out.printf(Locale.ROOT, "%s | %s vs %s | %d:%d%n",
@@ -71,36 +124,29 @@ public class Main {
         System.out.println();
 
         // --- Map: Tordifferenz je Spiel ---
+        metrics.phase("goalDiff");
         System.out.println("-- Map: Tordifferenz pro Spiel Super League 2025 (letzte 10) --");
         int startIdxMap = Math.max(0, seasonMatches.size() - 10);
-        seasonMatches.subList(startIdxMap, seasonMatches.size()).stream()
-                .map(m -> new Object[]{m.homeTeam + " - " + m.awayTeam, m.homeGoals - m.awayGoals})
-                .forEach(arr -> System.out.printf(Locale.ROOT, "%s | Diff: %d%n", arr[0], (int) arr[1]));
+        List<Match> lastMatches = seasonMatches.subList(startIdxMap, seasonMatches.size());
+        int[] diffs = analysis.goalDiffs(lastMatches);
+        IntStream.range(0, diffs.length)
+                .forEach(i -> System.out.printf(Locale.ROOT, "%s - %s | Diff: %d%n",
+                        lastMatches.get(i).homeTeam, lastMatches.get(i).awayTeam, diffs[i]));
         System.out.println();
 
         // --- Reduce: Gesamttore pro Team (alle) ---
+        metrics.phase("goalsPerTeam");
         System.out.println("-- Reduce: Gesamttore pro Team (" + league + " " + season + ") --");
-        Map<String, Integer> goalsFor = seasonMatches.stream().flatMap(m -> Stream.of(
-                        new Object[]{m.homeTeam, m.homeGoals},
-                        new Object[]{m.awayTeam, m.awayGoals}
-                ))
-                .collect(Collectors.toMap(
-                        arr -> (String) arr[0],
-                        arr -> (Integer) arr[1],
-                        Integer::sum
-                ));
-        goalsFor.entrySet().stream()
+        analysis.goalsPerTeam(seasonMatches).entrySet().stream()
                 .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
                 .forEach(e -> System.out.printf(Locale.ROOT, "%-14s | %3d Tore%n", e.getKey(), e.getValue()));
         System.out.println();
 
         // --- Top-Scorer: Top 5 Spieler ---
+        metrics.phase("topScorers");
         System.out.println("-- Top 5 Torschützen (" + league + " " + season + ") --");
-        players.stream()
-                .filter(p -> p.league.equals(league) && p.season == season)
-                .sorted(Comparator.comparingInt((PlayerStat p) -> p.goals).reversed())
-                .limit(5)
-                .forEachOrdered(new java.util.function.Consumer<>() {
+        analysis.topScorers(players, league, season, 5)
+                .forEach(new java.util.function.Consumer<>() {
                     int i = 0;
                     @Override public void accept(PlayerStat p) {
                         i++;
@@ -111,66 +157,88 @@ public class Main {
         System.out.println();
 
         // --- Reduce: Durchschnittstore pro Spiel ---
+        metrics.phase("averageGoals");
         System.out.println("-- Reduce: Durchschnittstore pro Spiel --");
-        DoubleSummaryStatistics stats = matches.stream()
-                .mapToDouble(m -> m.homeGoals + m.awayGoals)
-                .summaryStatistics();
-        double avgGoals = stats.getCount() == 0 ? 0.0 : stats.getAverage();
-        System.out.printf(Locale.ROOT, "%.1f Tore%n%n", avgGoals);
+        System.out.printf(Locale.ROOT, "%.1f Tore%n%n", analysis.averageGoals(matches));
 
         // --- Vergleich: Team-Statistiken (alle Teams) ---
+        metrics.phase("table");
         System.out.println("-- Vergleich: Team-Statistiken (W/D/L/GF/GA/GD/Pkt) --");
-        class Agg { int w,d,l,gf,ga; }
-        Map<String, Agg> table = seasonMatches.stream()
-                .flatMap(m -> Stream.of(
-                        new Object[]{m.homeTeam, m.homeGoals, m.awayGoals},
-                        new Object[]{m.awayTeam, m.awayGoals, m.homeGoals}
-                ))
-                .collect(Collectors.toMap(
-                        arr -> (String) arr[0],
-                        arr -> {
-                            Agg a = new Agg(); a.gf = (Integer) arr[1]; a.ga = (Integer) arr[2];
-                            if (a.gf > a.ga) a.w = 1; else if (a.gf == a.ga) a.d = 1; else a.l = 1; return a;
-                        },
-                        (a,b) -> { a.gf+=b.gf; a.ga+=b.ga; a.w+=b.w; a.d+=b.d; a.l+=b.l; return a; }
-                ));
-        class Row { String team; int w,d,l,gf,ga,gd,pts; Row(String t,int w,int d,int l,int gf,int ga){this.team=t;this.w=w;this.d=d;this.l=l;this.gf=gf;this.ga=ga;this.gd=gf-ga;this.pts=w*3+d;} }
-        List<Row> rows = table.entrySet().stream()
-                .map(e -> new Row(e.getKey(), e.getValue().w, e.getValue().d, e.getValue().l, e.getValue().gf, e.getValue().ga))
-                .sorted(
-                        Comparator.comparingInt((Row r) -> r.pts).reversed()
-                                .thenComparing(Comparator.comparingInt((Row r) -> r.gd).reversed())
-                                .thenComparing(Comparator.comparingInt((Row r) -> r.gf).reversed())
-                                .thenComparing(r -> r.team)
-                )
-                .collect(Collectors.toList());
         System.out.printf(Locale.ROOT, "%-14s | %2s %2s %2s | %3s %3s %3s | %3s%n",
                 "Team","W","D","L","GF","GA","GD","Pkt");
-        rows.forEach(r -> System.out.printf(Locale.ROOT,
+        table(analysis, seasonMatches).forEach(r -> System.out.printf(Locale.ROOT,
                 "%-14s | %2d %2d %2d | %3d %3d %3d | %3d%n",
                 r.team, r.w, r.d, r.l, r.gf, r.ga, r.gd, r.pts));
         System.out.println();
 
         // --- Vergleich: Heimsiege / Auswärtssiege / Unentschieden ---
+        metrics.phase("outcomes");
         System.out.println("-- Vergleich: Heimsiege vs. Auswärtssiege vs. Unentschieden --");
-        Map<String, Long> outcomeCounts = matches.stream()
-                .collect(Collectors.groupingBy(m -> {
-                    if (m.homeGoals > m.awayGoals) return "HOME";
-                    else if (m.homeGoals < m.awayGoals) return "AWAY";
-                    else return "DRAW";
-                }, Collectors.counting()));
+        long[] outcomes = analysis.outcomes(matches);
 
         long total = matches.size();
-        double homePct = total == 0 ? 0 : 100.0 * outcomeCounts.getOrDefault("HOME", 0L) / total;
-        double awayPct = total == 0 ? 0 : 100.0 * outcomeCounts.getOrDefault("AWAY", 0L) / total;
-        double drawPct = total == 0 ? 0 : 100.0 * outcomeCounts.getOrDefault("DRAW", 0L) / total;
+        double homePct = total == 0 ? 0 : 100.0 * outcomes[0] / total;
+        double awayPct = total == 0 ? 0 : 100.0 * outcomes[1] / total;
+        double drawPct = total == 0 ? 0 : 100.0 * outcomes[2] / total;
 
         System.out.printf(Locale.ROOT,
                 "Heimsiege: %.0f%%%nAuswärtssiege: %.0f%%%nUnentschieden: %.0f%%%n",
                 homePct, awayPct, drawPct);
+
+        reportMetrics(metrics, metricsTarget);
+    }
+
+    // Beendet die letzte Phase; Tabelle auf stderr (Bericht bleibt unverändert) oder JSON in die Datei
+    private static void reportMetrics(Metrics metrics, Optional<String> target) throws IOException {
+        metrics.finish();
+        System.out.flush();
+        if (target.filter(String::isEmpty).isPresent()) metrics.printTable(System.err);
+        else if (target.isPresent()) metrics.writeJson(Paths.get(target.get()));
+    }
+
+    // Nimmt "<name>.gz", wenn nur die komprimierte Datei vorhanden ist (CsvUtil entpackt sie beim Lesen)
+    private static String dataFile(String dir, String name) {
+        return Stream.of(name, name + ".gz")
+                .map(n -> Paths.get(dir, n))
+                .filter(Files::isRegularFile)
+                .findFirst()
+                .orElse(Paths.get(dir, name))
+                .toString();
+    }
+
+    // --- Einzelne Auswertungen (auch vom Benchmark verwendet) ---
+
+    static List<Match> loadMatches(String path) throws IOException {
+        // Nur die Spalten lesen, die ein Match braucht (Quoten und Uhrzeit werden übersprungen)
+        return MatchStore.read(Paths.get(path));
     }
 
-    private static String inferLeague(List<Match> matches) {
+    static List<PlayerStat> loadPlayers(String path) throws IOException {
+        try (Stream<String[]> rows = CsvUtil.stream(path)) {
+            return rows.map(PlayerStat::fromCsv).collect(Collectors.toList());
+        }
+    }
+
+    // Die Abschnitte selbst (Filter, Map, Reduce, ...) liegen in den Backends unter analysis/
+
+    static List<Row> table(Analysis analysis, List<Match> seasonMatches) {
+        Map<String, int[]> table = analysis.table(seasonMatches);
+        return table.entrySet().stream()
+                .map(e -> new Row(e.getKey(), e.getValue()[MatchCollectors.W], e.getValue()[MatchCollectors.D],
+                        e.getValue()[MatchCollectors.L], e.getValue()[MatchCollectors.GF], e.getValue()[MatchCollectors.GA]))
+                .sorted(
+                        Comparator.comparingInt((Row r) -> r.pts).reversed()
+                                .thenComparing(Comparator.comparingInt((Row r) -> r.gd).reversed())
+                                .thenComparing(Comparator.comparingInt((Row r) -> r.gf).reversed())
+                                .thenComparing(r -> r.team)
+                )
+                .collect(Collectors.toList());
+    }
+
+    // Tabellenzeile eines Teams
+    static class Row { String team; int w,d,l,gf,ga,gd,pts; Row(String t,int w,int d,int l,int gf,int ga){this.team=t;this.w=w;this.d=d;this.l=l;this.gf=gf;this.ga=ga;this.gd=gf-ga;this.pts=w*3+d;} }
+
+    static String inferLeague(List<Match> matches) {
         Map<String, Long> counts = matches.stream()
                 .collect(Collectors.groupingBy(m -> m.league, Collectors.counting()));
         if (counts.containsKey("Super League")) return "Super League";
@@ -180,30 +248,15 @@ public class Main {
                 .orElse("");
     }
 
-    private static int inferLatestSeason(List<Match> matches, String league) {
-        OptionalIntWrapper max = new OptionalIntWrapper();
-        matches.stream()
-                .filter(m -> league.equals("") || m.league.equals(league))
-                .mapToInt(m -> m.season)
-                .forEach(v -> { if (!max.present || v > max.value) { max.present = true; max.value = v; } });
-        return max.present ? max.value : 0;
-    }
-
     private static String inferTeam(List<Match> matches, String league, int season) {
         // Bevorzugt "Basel" falls vorhanden, sonst meist-auftretendes Team
-        List<String> teams = matches.stream()
+        Map<String, Long> counts = matches.stream()
                 .filter(m -> (league.isEmpty() || m.league.equals(league)) && (season == 0 || m.season == season))
-                .flatMap(m -> Stream.of(m.homeTeam, m.awayTeam))
-                .collect(Collectors.toList());
-        Map<String, Long> counts = teams.stream()
-                .collect(Collectors.groupingBy(t -> t, Collectors.counting()));
+                .collect(MatchCollectors.appearances());
         if (counts.containsKey("Basel")) return "Basel";
         return counts.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
                 .map(Map.Entry::getKey)
-                .orElse(teams.isEmpty() ? "" : teams.get(0));
+                .orElse("");
     }
-
-    // Kleiner Hilfstyp, um ohne OptionalInt auszukommen (keine zusätzlichen Importe nötig)
-    private static class OptionalIntWrapper { boolean present = false; int value = 0; }
 }
@@ -0,0 +1,231 @@
+package model;
+
+import util.CsvUtil;
+import util.Metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spiele in Partitionen nach (Liga, Saison), z. B. aus vielen Dateien (eine pro Land und Saison).
+ *
+ * Laden: pro Datei eine Aufgabe in einem Threadpool mit fester Grösse; jede Aufgabe liest ihre
+ * Datei und gruppiert sie nach Liga/Saison. Die Gruppen werden danach in Reihenfolge der
+ * Dateinamen zu Partitionen zusammengeführt (Listen werden nur kopiert, wenn sich eine
+ * Liga/Saison über mehrere Dateien verteilt).
+ *
+ * Abfragen nach einer Liga/Saison lesen nur deren Partition statt alle Spiele zu filtern;
+ * {@link #all()} ist eine Sicht auf alle Partitionen, ohne sie in eine neue Liste zu kopieren.
+ *
+ * @author Nikola Hadzic & Emilio Jordan
+ * @version 1.0
+ */
+public class MatchStore {
+
+    private final Map<Key, List<Match>> partitions;
+    private final List<Match> all;
+
+    private MatchStore(Map<Key, List<Match>> partitions, List<Match> all) {
+        this.partitions = partitions;
+        this.all = all != null ? all : new Concatenated(new ArrayList<>(partitions.values()));
+    }
+
+    /**
+     * Liest die benötigten Spalten einer "matches.csv" (gzip wird erkannt).
+     * @param file Die Datei
+     * @return Die Spiele in Dateireihenfolge
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static List<Match> read(Path file) throws IOException {
+        try (Stream<String[]> rows = CsvUtil.stream(file.toString(), Match.CSV_COLUMNS)) {
+            return rows.map(Match::fromColumns).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Bildet die Partitionen über bereits geladene Spiele; {@link #all()} bleibt die übergebene Liste.
+     * @param matches Die Spiele
+     * @return Der Speicher
+     */
+    public static MatchStore of(List<Match> matches) {
+        return new MatchStore(group(matches), matches);
+    }
+
+    /**
+     * Bestimmt die Dateien zu einer Angabe wie "archiv/" oder "archiv/*.csv.gz".
+     * Ein Ordner liefert alle "*.csv" und "*.csv.gz" darin; sonst ist der Dateiname ein Glob-Muster
+     * (Platzhalter nur im Dateinamen, nicht im Ordner).
+     * @param spec Ordner oder Glob-Muster
+     * @return Die Dateien, nach Namen sortiert
+     * @throws IOException Wenn der Ordner nicht gelesen werden kann oder keine Datei passt
+     */
+    public static List<Path> files(String spec) throws IOException {
+        Path path = Paths.get(spec);
+        Path dir = Files.isDirectory(path) ? path : path.toAbsolutePath().getParent();
+        String glob = Files.isDirectory(path) ? "*.{csv,csv.gz}" : path.getFileName().toString();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir, glob)) {
+            List<Path> files = StreamSupport.stream(entries.spliterator(), false)
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (files.isEmpty()) throw new IOException("Keine Dateien gefunden: " + spec);
+            return files;
+        }
+    }
+
+    /**
+     * Lädt alle Dateien parallel, eine Aufgabe pro Datei.
+     * @param files Die Dateien (bestimmen die Reihenfolge beim Zusammenführen)
+     * @param threads Maximale Anzahl gleichzeitig gelesener Dateien
+     * @return Der Speicher mit allen Partitionen
+     * @throws IOException Wenn eine Datei nicht gelesen werden kann
+     */
+    public static MatchStore load(List<Path> files, int threads) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, files.size())), Metrics.threadFactory());
+        try {
+            List<CompletableFuture<Map<Key, List<Match>>>> tasks = files.stream()
+                    .map(file -> CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return group(read(file));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, pool))
+                    .collect(Collectors.toList());
+
+            // In Dateireihenfolge zusammenführen
+            Map<Key, List<Match>> partitions = tasks.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(m -> m.entrySet().stream())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                            (a, b) -> Stream.concat(a.stream(), b.stream()).collect(Collectors.toList()),
+                            LinkedHashMap::new));
+            return new MatchStore(partitions, null);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) throw ((UncheckedIOException) e.getCause()).getCause();
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Map<Key, List<Match>> group(List<Match> matches) {
+        return matches.stream()
+                .collect(Collectors.groupingBy(m -> new Key(m.league, m.season), LinkedHashMap::new, Collectors.toList()));
+    }
+
+    /** @return Die Schlüssel aller Partitionen in Reihenfolge des ersten Auftretens */
+    public List<Key> partitions() {
+        return new ArrayList<>(partitions.keySet());
+    }
+
+    /**
+     * Liefert die Spiele einer Liga/Saison, ohne andere Partitionen anzufassen.
+     * @param league Name der Liga
+     * @param season Saison (Startjahr)
+     * @return Die Spiele in Dateireihenfolge (leer, falls es keine gibt)
+     */
+    public List<Match> partition(String league, int season) {
+        return partitions.getOrDefault(new Key(league, season), List.of());
+    }
+
+    /**
+     * Neueste Saison einer Liga; prüft nur die Schlüssel der Partitionen, nicht die Spiele.
+     * @param league Name der Liga oder "" für alle Ligen
+     * @return Die neueste Saison oder 0, falls es keine Spiele gibt
+     */
+    public int latestSeason(String league) {
+        return partitions.keySet().stream()
+                .filter(k -> league.isEmpty() || k.league.equals(league))
+                .mapToInt(k -> k.season)
+                .max()
+                .orElse(0);
+    }
+
+    /** @return Alle Spiele (bei mehreren Dateien Partition für Partition) */
+    public List<Match> all() {
+        return all;
+    }
+
+    /**
+     * Schlüssel einer Partition.
+     */
+    public static class Key {
+        public final String league;
+        public final int season;
+
+        public Key(String league, int season) {
+            this.league = league;
+            this.season = season;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return season == k.season && league.equals(k.league);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(league, season);
+        }
+
+        @Override
+        public String toString() {
+            return league + " " + season;
+        }
+    }
+
+    // Nur lesbare Sicht auf mehrere Listen hintereinander (Zugriff per Binärsuche über die Startpositionen)
+    private static class Concatenated extends AbstractList<Match> implements RandomAccess {
+        private final List<List<Match>> parts;
+        private final int[] starts;
+
+        Concatenated(List<List<Match>> parts) {
+            this.parts = parts;
+            this.starts = new int[parts.size() + 1];
+            for (int i = 0; i < parts.size(); i++) starts[i + 1] = starts[i] + parts.get(i).size();
+        }
+
+        @Override
+        public Match get(int index) {
+            if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+            int lo = 0, hi = parts.size() - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (starts[mid] <= index) lo = mid;
+                else hi = mid - 1;
+            }
+            return parts.get(lo).get(index - starts[lo]);
+        }
+
+        @Override
+        public int size() {
+            return starts[parts.size()];
+        }
+
+        @Override
+        public Stream<Match> stream() {
+            return parts.stream().flatMap(List::stream);
+        }
+    }
+}